@@ -0,0 +1,110 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package benchmarks.joptsimple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static benchmarks.joptsimple.Schemas.*;
+
+/**
+ * Measures {@link OptionParser#parse(String...)} of long options against schemas of growing size.  The command
+ * lines hold the same number of tokens whatever the schema size, so the scores show how per-parse cost grows with
+ * the number of recognized options.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class LongOptionParseBenchmark {
+    private static final int OPTIONS_PER_COMMAND_LINE = 16;
+
+    @Param( { "5", "50", "500", "5000" } )
+    public int recognizedOptions;
+
+    private OptionParser parser;
+    private String[] separateArguments;
+    private String[] attachedArguments;
+    private String[] abbreviations;
+
+    @Setup
+    public void setUp() {
+        parser = parserWithOptions( recognizedOptions );
+
+        List<String> separate = new ArrayList<>();
+        List<String> attached = new ArrayList<>();
+        List<String> abbreviated = new ArrayList<>();
+
+        for ( int each : sampleOf( recognizedOptions, OPTIONS_PER_COMMAND_LINE ) ) {
+            if ( acceptsArgument( each ) ) {
+                separate.add( "--" + optionName( each ) );
+                separate.add( "value" + each );
+                attached.add( "--" + optionName( each ) + "=value" + each );
+                abbreviated.add( "--" + abbreviationOf( each ) + "=value" + each );
+            } else {
+                separate.add( "--" + optionName( each ) );
+                attached.add( "--" + optionName( each ) );
+                abbreviated.add( "--" + abbreviationOf( each ) );
+            }
+        }
+
+        separateArguments = separate.toArray( new String[ 0 ] );
+        attachedArguments = attached.toArray( new String[ 0 ] );
+        abbreviations = abbreviated.toArray( new String[ 0 ] );
+    }
+
+    @Benchmark
+    public OptionSet longOptionsWithSeparateArguments() {
+        return parser.parse( separateArguments );
+    }
+
+    @Benchmark
+    public OptionSet longOptionsWithAttachedArguments() {
+        return parser.parse( attachedArguments );
+    }
+
+    @Benchmark
+    public OptionSet abbreviatedLongOptions() {
+        return parser.parse( abbreviations );
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package benchmarks.joptsimple;
+
+import java.util.concurrent.TimeUnit;
+
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link OptionParser#parse(String...)} of command lines that are mostly non-option arguments, such as
+ * lists of file names.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class NonOptionArgumentsParseBenchmark {
+    @Param( { "10000", "100000" } )
+    public int nonOptionArguments;
+
+    private OptionParser parser;
+    private String[] trailing;
+    private String[] afterTerminator;
+
+    @Setup
+    public void setUp() {
+        parser = new OptionParser();
+        parser.accepts( "verbose" );
+        parser.accepts( "level" ).withRequiredArg().ofType( Integer.class );
+
+        trailing = new String[ nonOptionArguments + 2 ];
+        trailing[ 0 ] = "--verbose";
+        trailing[ 1 ] = "--level=3";
+
+        afterTerminator = new String[ nonOptionArguments + 3 ];
+        afterTerminator[ 0 ] = "--verbose";
+        afterTerminator[ 1 ] = "--level=3";
+        afterTerminator[ 2 ] = "--";
+
+        for ( int i = 0; i < nonOptionArguments; ++i ) {
+            String file = "/var/spool/jobs/file-" + i + ".dat";
+            trailing[ i + 2 ] = file;
+            afterTerminator[ i + 3 ] = file;
+        }
+    }
+
+    @Benchmark
+    public OptionSet nonOptionArguments() {
+        return parser.parse( trailing );
+    }
+
+    @Benchmark
+    public OptionSet nonOptionArgumentsAfterTerminator() {
+        return parser.parse( afterTerminator );
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package benchmarks.joptsimple;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import joptsimple.ValueConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures retrieval of option arguments from an already parsed {@link OptionSet}, with and without conversion.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class OptionSetAccessBenchmark {
+    private static final int SEPARATED_VALUES = 100;
+
+    private OptionSpec<String> name;
+    private OptionSpec<Integer> count;
+    private OptionSpec<Integer> shards;
+    private OptionSpec<Duration> timeout;
+    private OptionSpec<Void> verbose;
+    private OptionSet options;
+
+    @Setup
+    public void setUp() {
+        OptionParser parser = new OptionParser();
+        name = parser.accepts( "name" ).withRequiredArg();
+        count = parser.accepts( "count" ).withRequiredArg().ofType( Integer.class );
+        shards = parser.accepts( "shards" ).withRequiredArg().ofType( Integer.class ).withValuesSeparatedBy( ',' );
+        timeout = parser.accepts( "timeout" ).withRequiredArg().withValuesConvertedBy( new DurationConverter() );
+        verbose = parser.accepts( "verbose" );
+
+        StringBuilder shardIds = new StringBuilder();
+        for ( int i = 0; i < SEPARATED_VALUES; ++i ) {
+            if ( i > 0 )
+                shardIds.append( ',' );
+            shardIds.append( i );
+        }
+
+        options = parser.parse(
+            "--name", "dispatcher", "--count=42", "--shards", shardIds.toString(), "--timeout=30s", "--verbose" );
+    }
+
+    @Benchmark
+    public boolean hasOption() {
+        return options.has( verbose );
+    }
+
+    @Benchmark
+    public boolean hasOptionByName() {
+        return options.has( "verbose" );
+    }
+
+    @Benchmark
+    public String valueOfString() {
+        return options.valueOf( name );
+    }
+
+    @Benchmark
+    public Integer valueOfInteger() {
+        return options.valueOf( count );
+    }
+
+    @Benchmark
+    public Object valueOfByName() {
+        return options.valueOf( "count" );
+    }
+
+    @Benchmark
+    public List<Integer> valuesOfSeparatedIntegers() {
+        return options.valuesOf( shards );
+    }
+
+    @Benchmark
+    public Duration valueOfCustomConverter() {
+        return options.valueOf( timeout );
+    }
+
+    /**
+     * A value type for a hand-written converter.
+     */
+    public static final class Duration {
+        final long seconds;
+
+        Duration( long seconds ) {
+            this.seconds = seconds;
+        }
+    }
+
+    static final class DurationConverter implements ValueConverter<Duration> {
+        @Override
+        public Duration convert( String value ) {
+            return new Duration( Long.parseLong( value.substring( 0, value.length() - 1 ) ) );
+        }
+
+        @Override
+        public Class<Duration> valueType() {
+            return Duration.class;
+        }
+
+        @Override
+        public String valuePattern() {
+            return "<seconds>s";
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package benchmarks.joptsimple;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import joptsimple.OptionParser;
+
+/**
+ * Builds parsers and command lines of configurable size for the benchmarks.
+ */
+final class Schemas {
+    private Schemas() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @param index index of an option in a generated schema
+     * @return the full name of that option, e.g. {@code option-00042-setting}
+     */
+    static String optionName( int index ) {
+        return String.format( "option-%05d-setting", index );
+    }
+
+    /**
+     * @param index index of an option in a generated schema
+     * @return a unique abbreviation of that option's name, e.g. {@code option-00042}
+     */
+    static String abbreviationOf( int index ) {
+        return String.format( "option-%05d", index );
+    }
+
+    /**
+     * Makes a parser that recognizes {@code count} long options.  Options with even indices take no argument;
+     * options with odd indices take a required argument.
+     *
+     * @param count how many options to recognize
+     * @return a configured parser
+     */
+    static OptionParser parserWithOptions( int count ) {
+        OptionParser parser = new OptionParser();
+
+        for ( int i = 0; i < count; ++i ) {
+            if ( acceptsArgument( i ) )
+                parser.accepts( optionName( i ) ).withRequiredArg();
+            else
+                parser.accepts( optionName( i ) );
+        }
+
+        return parser;
+    }
+
+    /**
+     * Gives the indices of up to {@code maximum} options spread evenly across a schema of {@code count} options,
+     * so that command lines stay the same length while the schema grows.
+     *
+     * @param count how many options the schema recognizes
+     * @param maximum most indices to give
+     * @return option indices
+     */
+    static List<Integer> sampleOf( int count, int maximum ) {
+        List<Integer> indices = new ArrayList<>();
+
+        int step = Math.max( 1, count / maximum );
+        for ( int i = 0; i < count && indices.size() < maximum; i += step )
+            indices.add( i );
+
+        return indices;
+    }
+
+    static boolean acceptsArgument( int index ) {
+        return index % 2 == 1;
+    }
+}
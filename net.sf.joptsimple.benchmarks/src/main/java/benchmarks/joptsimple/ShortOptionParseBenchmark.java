@@ -0,0 +1,84 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package benchmarks.joptsimple;
+
+import java.util.concurrent.TimeUnit;
+
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link OptionParser#parse(String...)} of short options, alone and in clusters.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class ShortOptionParseBenchmark {
+    private OptionParser parser;
+
+    @Setup
+    public void setUp() {
+        parser = new OptionParser( "abcdeghijklmnpqrstuvwxyzf:o::" );
+    }
+
+    @Benchmark
+    public OptionSet separateShortOptions() {
+        return parser.parse( "-a", "-b", "-c", "-d", "-e", "-g" );
+    }
+
+    @Benchmark
+    public OptionSet shortOptionCluster() {
+        return parser.parse( "-abcdeg" );
+    }
+
+    @Benchmark
+    public OptionSet clusterEndingInRequiredArgument() {
+        return parser.parse( "-xvzf", "archive.tar" );
+    }
+
+    @Benchmark
+    public OptionSet clusterWithAttachedArgument() {
+        return parser.parse( "-xvzfarchive.tar" );
+    }
+
+    @Benchmark
+    public OptionSet shortOptionsWithEqualsArgument() {
+        return parser.parse( "-f=archive.tar", "-o=out" );
+    }
+}
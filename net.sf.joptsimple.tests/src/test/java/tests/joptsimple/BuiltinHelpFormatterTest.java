@@ -1,7 +1,9 @@
 package tests.joptsimple;
 
+import static java.util.Arrays.*;
 import static org.junit.Assert.*;
 
+import java.io.File;
 import java.util.Date;
 import java.util.Map;
 
@@ -32,4 +34,58 @@ public class BuiltinHelpFormatterTest {
 
         assertEquals( expected, actual );
     }
+
+    @Test
+    public void formatToWritesWhatFormatGives() throws Exception {
+        OptionParser parser = new OptionParser();
+        parser.nonOptions( "files to chew" ).ofType( File.class );
+        parser.acceptsAll( asList( "c", "count" ), "how many times" ).withRequiredArg().ofType( Integer.class )
+            .defaultsTo( 3 );
+        parser.accepts( "verbose", "talk a lot, at great length, about everything that is happening right now" );
+        BuiltinHelpFormatter formatter = new BuiltinHelpFormatter( 50, 2 );
+
+        StringBuilder streamed = new StringBuilder();
+        formatter.formatTo( parser.recognizedOptions(), streamed );
+
+        assertEquals( formatter.format( parser.recognizedOptions() ), streamed.toString() );
+    }
+
+    @Test
+    public void formatToHonorsSubclassOutputOverrides() throws Exception {
+        OptionParser parser = new OptionParser();
+        parser.accepts( "x" );
+        BuiltinHelpFormatter formatter = new BuiltinHelpFormatter() {
+            @Override
+            protected String formattedHelpOutput() {
+                return "custom";
+            }
+        };
+
+        StringBuilder streamed = new StringBuilder();
+        formatter.formatTo( parser.recognizedOptions(), streamed );
+
+        assertEquals( "custom", streamed.toString() );
+    }
+
+    @Test
+    public void wrapsPlainAndUnicodeDescriptionsAlike() {
+        OptionParser parser = new OptionParser();
+        parser.accepts( "plain", "split (only) at spaces, like \"this\": fine" );
+        parser.accepts( "numeric", "ratio of 1.5 to 2,000 and a-1 steps" );
+        parser.accepts( "unicode", "gr\u00FC\u00DFe an die Welt \u2014 und so weiter" );
+        BuiltinHelpFormatter formatter = new BuiltinHelpFormatter( 36, 2 );
+
+        String actual = formatter.format( parser.recognizedOptions() );
+
+        String expected =
+            "Option     Description            \n" +
+            "------     -----------            \n" +
+            "--numeric  ratio of 1.5 to 2,000  \n" +
+            "             and a-1 steps        \n" +
+            "--plain    split (only) at spaces,\n" +
+            "             like \"this\": fine    \n" +
+            "--unicode  gr\u00FC\u00DFe an die Welt \u2014 und\n" +
+            "             so weiter            \n";
+        assertEquals( expected, actual );
+    }
 }
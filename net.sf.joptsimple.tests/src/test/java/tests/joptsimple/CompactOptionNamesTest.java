@@ -0,0 +1,143 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.*;
+
+import joptsimple.OptionException;
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CompactOptionNamesTest {
+    private static final List<String> NAMES =
+        asList( "a", "verbose", "version", "verify", "output", "output-dir", "quiet", "x" );
+
+    private static final List<String> TOKENS =
+        asList( "-a", "-x", "-q", "-v", "--verbose", "--verb", "--vers", "--veri", "--ver", "--v", "--out",
+            "--output", "--output-", "--output-d", "--quiet", "--q", "--a", "--zz", "-vz", "--verbosely" );
+
+    @Test
+    public void recognizesSameTokensAsDefaultParserWithAbbreviations() {
+        assertSameRecognition( new OptionParser( true ), new OptionParser( true, true ) );
+    }
+
+    @Test
+    public void recognizesSameTokensAsDefaultParserWithoutAbbreviations() {
+        assertSameRecognition( new OptionParser( false ), new OptionParser( false, true ) );
+    }
+
+    @Test
+    public void recognizesOptionsAddedAfterParsing() {
+        OptionParser parser = new OptionParser( true, true );
+        parser.accepts( "verbose" );
+        assertTrue( parser.parse( "--ver" ).has( "verbose" ) );
+
+        parser.accepts( "version" );
+
+        assertTrue( parser.parse( "--verb" ).has( "verbose" ) );
+        assertTrue( parser.parse( "--vers" ).has( "version" ) );
+        assertUnrecognized( parser, "--ver" );
+    }
+
+    @Test
+    public void rulesNameOptionsConfiguredJustBefore() {
+        OptionParser parser = new OptionParser( true, true );
+        parser.accepts( "verbose" );
+        parser.accepts( "quiet" ).availableUnless( "verbose" );
+        parser.accepts( "level" ).requiredIf( "verb" );
+
+        assertTrue( parser.parse( "--quiet" ).has( "quiet" ) );
+        assertTrue( parser.parse( "--verb", "--level" ).has( "level" ) );
+        try {
+            parser.parse( "--verbose" );
+            fail();
+        }
+        catch ( OptionException expected ) {
+            assertTrue( expected.getMessage().contains( "level" ) );
+        }
+    }
+
+    @Test
+    public void compiledParserKeepsCompactOptionNames() {
+        OptionParser parser = new OptionParser( true, true );
+        parser.accepts( "verbose" );
+
+        assertTrue( parser.compile().parse( "--verb" ).has( "verbose" ) );
+    }
+
+    @Test
+    public void manyOptions() {
+        OptionParser parser = new OptionParser( true, true );
+        List<String> names = new ArrayList<>();
+        for ( int i = 0; i < 5000; ++i )
+            names.add( "feature-flag-" + i );
+        for ( String each : names )
+            parser.accepts( each );
+
+        assertTrue( parser.parse( "--feature-flag-4999" ).has( "feature-flag-4999" ) );
+        assertTrue( parser.parse( "--feature-flag-4998" ).has( "feature-flag-4998" ) );
+        assertTrue( parser.parse( "--feature-flag-1" ).has( "feature-flag-1" ) );
+        assertTrue( parser.parse( "--feature-flag-1234" ).has( "feature-flag-1234" ) );
+        assertUnrecognized( parser, "--feature-flag-" );
+        assertUnrecognized( parser, "--feature-flag-5000" );
+    }
+
+    private static void assertSameRecognition( OptionParser expected, OptionParser actual ) {
+        for ( String each : NAMES ) {
+            expected.accepts( each );
+            actual.accepts( each );
+        }
+
+        for ( String each : TOKENS )
+            assertEquals( each, recognized( expected, each ), recognized( actual, each ) );
+    }
+
+    private static String recognized( OptionParser parser, String token ) {
+        try {
+            OptionSet options = parser.parse( token );
+            return options.specs().get( 0 ).options().toString();
+        }
+        catch ( OptionException ex ) {
+            return ex.options().toString();
+        }
+    }
+
+    private static void assertUnrecognized( OptionParser parser, String token ) {
+        try {
+            parser.parse( token );
+            fail( token );
+        }
+        catch ( OptionException expected ) {
+            assertTrue( expected.getMessage().contains( token.substring( 2 ) ) );
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+
+import joptsimple.ArgumentAcceptingOptionSpec;
+import joptsimple.CompiledOptionParser;
+import joptsimple.OptionException;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import joptsimple.ParseResult;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CompiledOptionParserTest extends AbstractOptionParserFixture {
+    private OptionSpec<Integer> count;
+    private OptionSpec<String> name;
+
+    @Before
+    public void configureParser() {
+        count = parser.accepts( "count" ).withRequiredArg().ofType( Integer.class );
+        name = parser.accepts( "name" ).withOptionalArg();
+        parser.accepts( "v" );
+    }
+
+    @Test
+    public void parsesLikeTheOriginatingParser() {
+        String[] arguments = { "-v", "--count=3", "--name", "foo", "bar", "--", "-v" };
+
+        OptionSet compiled = parser.compile().parse( arguments );
+
+        assertEquals( parser.parse( arguments ), compiled );
+        assertEquals( Integer.valueOf( 3 ), compiled.valueOf( count ) );
+        assertEquals( "foo", compiled.valueOf( name ) );
+        assertEquals( asList( "bar", "-v" ), compiled.nonOptionArguments() );
+    }
+
+    @Test
+    public void unaffectedByOptionsRecognizedAfterCompiling() {
+        CompiledOptionParser compiled = parser.compile();
+        parser.accepts( "late" );
+
+        thrown.expect( OptionException.class );
+
+        compiled.parse( "--late" );
+    }
+
+    @Test
+    public void unaffectedBySettingsChangedAfterCompiling() {
+        CompiledOptionParser compiled = parser.compile();
+        parser.posixlyCorrect( true );
+
+        OptionSet options = compiled.parse( "foo", "-v" );
+
+        assertTrue( options.has( "v" ) );
+        assertEquals( singletonList( "foo" ), options.nonOptionArguments() );
+    }
+
+    @Test
+    public void laterRequiredDoesNotReachCompiledParser() {
+        ArgumentAcceptingOptionSpec<String> level = parser.accepts( "level" ).withRequiredArg();
+        CompiledOptionParser compiled = parser.compile();
+
+        try {
+            level.required();
+            fail();
+        } catch ( IllegalStateException expected ) {
+            assertTrue( compiled.parse( "-v" ).has( "v" ) );
+        }
+    }
+
+    @Test
+    public void laterDefaultDoesNotReachCompiledParser() {
+        ArgumentAcceptingOptionSpec<String> level = parser.accepts( "level" ).withRequiredArg();
+        CompiledOptionParser compiled = parser.compile();
+
+        try {
+            level.defaultsTo( "high" );
+            fail();
+        } catch ( IllegalStateException expected ) {
+            assertEquals( emptyList(), compiled.parse( "-v" ).valuesOf( level ) );
+        }
+    }
+
+    @Test
+    public void recognizesSameOptionsAsOriginatingParserAtCompileTime() {
+        CompiledOptionParser compiled = parser.compile();
+        parser.accepts( "late" );
+
+        assertEquals(
+            asList( "[arguments]", "count", "name", "v" ),
+            new ArrayList<>( compiled.recognizedOptions().keySet() ) );
+    }
+
+    @Test
+    public void endOfOptionsDoesNotCarryOverToNextParse() {
+        CompiledOptionParser compiled = parser.compile();
+
+        compiled.parse( "--", "-v" );
+        OptionSet options = compiled.parse( "-v" );
+
+        assertTrue( options.has( "v" ) );
+    }
+
+    @Test
+    public void posixlyCorrectEndOfOptionsDoesNotCarryOverToNextParse() {
+        parser.posixlyCorrect( true );
+        CompiledOptionParser compiled = parser.compile();
+
+        compiled.parse( "foo", "-v" );
+        OptionSet options = compiled.parse( "-v", "foo" );
+
+        assertTrue( options.has( "v" ) );
+    }
+
+    @Test
+    public void sharedAmongManyThreads() throws Exception {
+        CompiledOptionParser compiled = parser.compile();
+        ExecutorService threads = Executors.newFixedThreadPool( 8 );
+
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for ( int i = 0; i < 200; ++i ) {
+                final int n = i;
+                Callable<Boolean> task = () -> {
+                    for ( int j = 0; j < 50; ++j ) {
+                        OptionSet options = n % 2 == 0
+                            ? compiled.parse( "--", "-v", "--count", String.valueOf( n ) )
+                            : compiled.parse( "-v", "--count", String.valueOf( n ), "x" );
+
+                        boolean expected = n % 2 != 0;
+                        if ( options.has( "v" ) != expected )
+                            return false;
+                        if ( expected && options.valueOf( count ) != n )
+                            return false;
+                    }
+                    return true;
+                };
+                results.add( threads.submit( task ) );
+            }
+
+            for ( Future<Boolean> each : results )
+                assertTrue( each.get() );
+        } finally {
+            threads.shutdown();
+        }
+    }
+
+    @Test
+    public void parsesBatchInParallelKeepingOrder() {
+        List<String[]> commandLines = new ArrayList<>();
+        for ( int i = 0; i < 1000; ++i )
+            commandLines.add( i % 3 == 0 ? new String[] { "--count", "x" + i } : new String[] { "--count", "" + i } );
+
+        ForkJoinPool pool = new ForkJoinPool( 4 );
+        List<ParseResult> results;
+        try {
+            results = parser.compile().tryParseAll( commandLines, pool );
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals( commandLines.size(), results.size() );
+        for ( int i = 0; i < results.size(); ++i ) {
+            ParseResult result = results.get( i );
+            if ( i % 3 == 0 ) {
+                assertEquals( 1, result.errors().size() );
+                assertEquals( "x" + i, result.errors().get( 0 ).argument() );
+            }
+            else {
+                assertFalse( result.hasErrors() );
+                assertEquals( Integer.valueOf( i ), result.options().valueOf( count ) );
+            }
+        }
+    }
+
+    @Test
+    public void parsesEmptyBatch() {
+        assertEquals( emptyList(), parser.compile().tryParseAll( emptyList() ) );
+    }
+
+    @Test
+    public void parsesSmallBatchInCommonPool() {
+        List<ParseResult> results =
+            parser.compile().tryParseAll( asList( new String[] { "-v" }, new String[] { "-q" } ) );
+
+        assertTrue( results.get( 0 ).options().has( "v" ) );
+        assertTrue( results.get( 1 ).hasErrors() );
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+
+import joptsimple.ArgumentAcceptingOptionSpec;
+import joptsimple.OptionException;
+import joptsimple.OptionSet;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ConfigurationChangedBetweenParsesTest extends AbstractOptionParserFixture {
+    @Test
+    public void recognizesOptionAddedAfterParsing() {
+        parser.accepts( "a" );
+        parser.parse( "-a" );
+
+        parser.accepts( "b" );
+        OptionSet options = parser.parse( "-a", "-b" );
+
+        assertOptionDetected( options, "a" );
+        assertOptionDetected( options, "b" );
+    }
+
+    @Test
+    public void enforcesRequiredOptionDesignatedAfterParsing() {
+        ArgumentAcceptingOptionSpec<String> a = parser.accepts( "a" ).withRequiredArg();
+        parser.parse();
+
+        a.required();
+
+        thrown.expect( OptionException.class );
+        parser.parse();
+    }
+
+    @Test
+    public void honorsHelpOptionDesignatedAfterParsing() {
+        parser.accepts( "a" ).withRequiredArg().required();
+        parser.accepts( "h" );
+        parser.parse( "-a", "x", "-h" );
+
+        parser.accepts( "h" ).forHelp();
+        OptionSet options = parser.parse( "-h" );
+
+        assertOptionDetected( options, "h" );
+    }
+
+    @Test
+    public void givesDefaultValuesAddedAfterParsing() {
+        ArgumentAcceptingOptionSpec<String> a = parser.accepts( "a" ).withRequiredArg();
+        assertEquals( emptyList(), parser.parse().valuesOf( a ) );
+
+        a.defaultsTo( "x", "y" );
+
+        assertEquals( asList( "x", "y" ), parser.parse().valuesOf( a ) );
+        assertEquals( asList( "x", "y" ), parser.parse().valuesOf( "a" ) );
+    }
+
+    @Test
+    public void stopsRecognizingAlternativeLongOptionsTurnedOffAfterParsing() {
+        parser.recognizeAlternativeLongOptions( true );
+        parser.accepts( "foo" ).withRequiredArg();
+        parser.parse( "-W", "foo=bar" );
+
+        parser.recognizeAlternativeLongOptions( false );
+
+        thrown.expect( OptionException.class );
+        parser.parse( "-W", "foo=bar" );
+    }
+}
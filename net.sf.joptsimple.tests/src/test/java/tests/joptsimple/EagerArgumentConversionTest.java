@@ -0,0 +1,118 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.*;
+
+import joptsimple.OptionException;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import joptsimple.ValueConversionException;
+import joptsimple.ValueConverter;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EagerArgumentConversionTest extends AbstractOptionParserFixture {
+    private final AtomicInteger conversions = new AtomicInteger();
+    private OptionSpec<Integer> count;
+    private OptionSpec<Integer> nonOptions;
+
+    @Before
+    public final void initializeParser() {
+        parser.convertsArgumentsEagerly( true );
+        count = parser.accepts( "count" ).withRequiredArg().withValuesConvertedBy( new CountingConverter() );
+        nonOptions = parser.nonOptions().withValuesConvertedBy( new CountingConverter() );
+    }
+
+    @Test
+    public void convertsArgumentsWhileParsing() {
+        parser.parse( "--count", "1", "2", "--count", "3" );
+
+        assertEquals( 3, conversions.get() );
+    }
+
+    @Test
+    public void readsDoNoFurtherConversion() {
+        OptionSet options = parser.parse( "--count", "1", "2" );
+
+        assertEquals( asList( 1 ), options.valuesOf( count ) );
+        assertEquals( asList( 2 ), options.valuesOf( nonOptions ) );
+        assertEquals( asList( 2 ), options.nonOptionArguments() );
+        assertEquals( 2, conversions.get() );
+    }
+
+    @Test
+    public void rejectsUnconvertibleArgumentWhileParsing() {
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "count" ) );
+
+        parser.parse( "--count", "x" );
+    }
+
+    @Test
+    public void compiledParserKeepsSetting() {
+        thrown.expect( OptionException.class );
+
+        parser.compile().parse( "--count", "x" );
+    }
+
+    @Test
+    public void lazyByDefault() {
+        parser.convertsArgumentsEagerly( false );
+
+        OptionSet options = parser.parse( "--count", "x" );
+
+        assertTrue( options.has( count ) );
+        assertEquals( 0, conversions.get() );
+    }
+
+    private class CountingConverter implements ValueConverter<Integer> {
+        @Override
+        public Integer convert( String value ) {
+            conversions.incrementAndGet();
+            try {
+                return Integer.valueOf( value );
+            }
+            catch ( NumberFormatException ex ) {
+                throw new ValueConversionException( value, ex );
+            }
+        }
+
+        @Override
+        public Class<? extends Integer> valueType() {
+            return Integer.class;
+        }
+
+        @Override
+        public String valuePattern() {
+            return null;
+        }
+    }
+}
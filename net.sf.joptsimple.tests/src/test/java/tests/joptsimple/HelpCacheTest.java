@@ -0,0 +1,174 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import joptsimple.BuiltinHelpFormatter;
+import joptsimple.OptionDescriptor;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HelpCacheTest extends AbstractOptionParserFixture {
+    @Before
+    public void configureParser() {
+        parser.accepts( "level" ).withRequiredArg();
+    }
+
+    @Test
+    public void rendersHelpOnceForRepeatedPrints() throws Exception {
+        CapturingWriter first = render();
+        CapturingWriter second = render();
+        CapturingWriter third = render();
+
+        assertEquals( first.text(), second.text() );
+        assertTrue( second.isWholeString() );
+        assertSame( second.strings.get( 0 ), third.strings.get( 0 ) );
+    }
+
+    @Test
+    public void rerendersAfterOptionIsAdded() throws Exception {
+        String first = render().text();
+
+        parser.accepts( "verbose" );
+
+        String second = render().text();
+        assertFalse( first.contains( "--verbose" ) );
+        assertTrue( second.contains( "--verbose" ) );
+    }
+
+    @Test
+    public void rerendersAfterOptionConfigurationChanges() throws Exception {
+        render();
+
+        parser.accepts( "count" ).withRequiredArg().ofType( Integer.class ).defaultsTo( 7 ).describedAs( "times" );
+
+        String help = render().text();
+        assertTrue( help.contains( "<Integer: times>" ) );
+        assertTrue( help.contains( "(default: 7)" ) );
+    }
+
+    @Test
+    public void rerendersWithNewFormatter() throws Exception {
+        render();
+
+        parser.formatHelpWith( new BuiltinHelpFormatter( 40, 1 ) );
+
+        assertFalse( render().isWholeString() );
+        assertTrue( render().isWholeString() );
+    }
+
+    @Test
+    public void rerendersForNewDefaultLocale() throws Exception {
+        Locale original = Locale.getDefault();
+        render();
+
+        try {
+            Locale.setDefault( Locale.ITALY.equals( original ) ? Locale.FRANCE : Locale.ITALY );
+            assertFalse( render().isWholeString() );
+        } finally {
+            Locale.setDefault( original );
+        }
+    }
+
+    @Test
+    public void streamsLargeHelpWithoutKeepingIt() throws Exception {
+        for ( int i = 0; i < 2000; ++i )
+            parser.accepts( "option" + i, "what option number " + i + " is for, at some length" );
+
+        String first = render().text();
+        CapturingWriter second = render();
+
+        assertFalse( second.isWholeString() );
+        assertEquals( first, second.text() );
+        assertEquals( new BuiltinHelpFormatter().format( parser.recognizedOptions() ), first );
+    }
+
+    @Test
+    public void rendersAnewForOtherFormattersEveryTime() throws Exception {
+        int[] calls = new int[ 1 ];
+        parser.formatHelpWith( new BuiltinHelpFormatter() {
+            @Override
+            public String format( Map<String, ? extends OptionDescriptor> options ) {
+                ++calls[ 0 ];
+                return super.format( options );
+            }
+        } );
+
+        render();
+        render();
+
+        assertEquals( 2, calls[ 0 ] );
+    }
+
+    private CapturingWriter render() throws IOException {
+        CapturingWriter sink = new CapturingWriter();
+        parser.printHelpOn( sink );
+        return sink;
+    }
+
+    private static class CapturingWriter extends Writer {
+        final List<String> strings = new ArrayList<>();
+        private final StringBuilder written = new StringBuilder();
+        private int writes;
+
+        @Override
+        public void write( String text ) {
+            strings.add( text );
+            written.append( text );
+            ++writes;
+        }
+
+        @Override
+        public void write( char[] buffer, int offset, int length ) {
+            written.append( buffer, offset, length );
+            ++writes;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        String text() {
+            return written.toString();
+        }
+
+        boolean isWholeString() {
+            return writes == 1 && strings.size() == 1;
+        }
+    }
+}
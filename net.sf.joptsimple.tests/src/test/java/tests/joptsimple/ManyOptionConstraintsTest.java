@@ -0,0 +1,110 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.*;
+
+import joptsimple.OptionException;
+import joptsimple.OptionSpecBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ManyOptionConstraintsTest extends AbstractOptionParserFixture {
+    private final List<OptionSpecBuilder> options = new ArrayList<>();
+
+    @Before
+    public void configureParser() {
+        for ( int i = 0; i < 150; ++i )
+            options.add( parser.accepts( "o" + i ) );
+
+        options.get( 140 ).requiredIf( "o3", "o100" );
+        options.get( 2 ).requiredUnless( "o130" );
+        options.get( 70 ).availableIf( "o5", "o129" );
+        options.get( 71 ).availableUnless( "o128" );
+        parser.accepts( "help" ).forHelp();
+    }
+
+    @Test
+    public void acceptsCommandLineSatisfyingRulesAcrossWords() {
+        assertTrue( parser.parse( "--o100", "--o140", "--o2", "--o129", "--o70", "--o71" ).has( "o71" ) );
+    }
+
+    @Test
+    public void reportsRequiredIfAcrossWords() {
+        try {
+            parser.parse( "--o2", "--o100" );
+            fail();
+        } catch ( OptionException expected ) {
+            assertEquals( singletonList( "o140" ), expected.options() );
+        }
+    }
+
+    @Test
+    public void reportsRequiredUnlessAcrossWords() {
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "o2" ) );
+
+        parser.parse( "--o1" );
+    }
+
+    @Test
+    public void reportsAvailableIfAcrossWords() {
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "o70" ) );
+
+        parser.parse( "--o2", "--o70" );
+    }
+
+    @Test
+    public void reportsAvailableUnlessAcrossWords() {
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "o71" ) );
+
+        parser.parse( "--o2", "--o128", "--o71" );
+    }
+
+    @Test
+    public void helpOptionExcusesBrokenRules() {
+        assertTrue( parser.parse( "--help", "--o100", "--o128", "--o71" ).has( "help" ) );
+    }
+
+    @Test
+    public void picksUpRulesAddedAfterParsing() {
+        parser.parse( "--o2", "--o149" );
+
+        options.get( 148 ).requiredIf( "o149" );
+
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "o148" ) );
+
+        parser.parse( "--o2", "--o149" );
+    }
+}
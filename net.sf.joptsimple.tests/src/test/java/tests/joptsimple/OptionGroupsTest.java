@@ -0,0 +1,151 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import java.util.List;
+
+import static java.util.Arrays.*;
+
+import joptsimple.OptionException;
+import joptsimple.OptionParser;
+import joptsimple.OptionSpecBuilder;
+import joptsimple.ParseError;
+import joptsimple.ParseResult;
+import org.junit.Before;
+import org.junit.Test;
+
+import static joptsimple.ParseError.Kind.*;
+import static org.junit.Assert.*;
+
+public class OptionGroupsTest extends AbstractOptionParserFixture {
+    private OptionSpecBuilder tar;
+    private OptionSpecBuilder zip;
+    private OptionSpecBuilder jar;
+
+    @Before
+    public void configureParser() {
+        tar = parser.accepts( "tar" );
+        zip = parser.accepts( "zip" );
+        jar = parser.accepts( "jar" );
+        jar.withRequiredArg();
+        parser.accepts( "v" );
+        parser.accepts( "?" ).forHelp();
+    }
+
+    @Test
+    public void exclusiveGroupAllowsNoneOrOne() {
+        parser.mutuallyExclusive( tar, zip, jar );
+
+        assertFalse( parser.parse( "-v" ).has( "tar" ) );
+        assertTrue( parser.parse( "--jar", "x.jar" ).has( "jar" ) );
+    }
+
+    @Test
+    public void exclusiveGroupReportsEachPresentMember() {
+        parser.mutuallyExclusive( tar, zip, jar );
+
+        ParseResult result = parser.tryParse( "--jar", "x.jar", "--tar" );
+
+        assertEquals( 1, result.errors().size() );
+        ParseError error = result.errors().get( 0 );
+        assertEquals( UNAVAILABLE_OPTIONS, error.kind() );
+        assertEquals( asList( "tar", "jar" ), error.options() );
+    }
+
+    @Test
+    public void exactlyOneGroupAcceptsOne() {
+        parser.exactlyOneOf( tar, zip, jar );
+
+        assertTrue( parser.parse( "--zip" ).has( "zip" ) );
+    }
+
+    @Test
+    public void exactlyOneGroupReportsNoneAsMissing() {
+        parser.exactlyOneOf( tar, zip );
+
+        List<ParseError> errors = parser.tryParse( "-v" ).errors();
+
+        assertEquals( 1, errors.size() );
+        assertEquals( MISSING_REQUIRED_OPTIONS, errors.get( 0 ).kind() );
+        assertEquals( asList( "tar", "zip" ), errors.get( 0 ).options() );
+    }
+
+    @Test
+    public void exactlyOneGroupRejectsTwo() {
+        parser.exactlyOneOf( tar, zip );
+
+        thrown.expect( OptionException.class );
+
+        parser.parse( "--tar", "--zip" );
+    }
+
+    @Test
+    public void atLeastOneGroupAcceptsSeveral() {
+        parser.atLeastOneOf( tar, zip, jar );
+
+        assertTrue( parser.parse( "--tar", "--zip" ).has( "zip" ) );
+    }
+
+    @Test
+    public void atLeastOneGroupRejectsNone() {
+        parser.atLeastOneOf( tar, zip, jar );
+
+        thrown.expect( OptionException.class );
+
+        parser.parse( "-v" );
+    }
+
+    @Test
+    public void helpOptionExcusesGroups() {
+        parser.exactlyOneOf( tar, zip );
+
+        assertTrue( parser.parse( "-?" ).has( "?" ) );
+        assertTrue( parser.parse( "-?", "--tar", "--zip" ).has( "?" ) );
+    }
+
+    @Test
+    public void rejectsMembersFromAnotherParser() {
+        OptionSpecBuilder foreign = new OptionParser().accepts( "foreign" );
+
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "foreign" ) );
+
+        parser.mutuallyExclusive( tar, foreign );
+    }
+
+    @Test
+    public void checksLargeGroupAsOne() {
+        OptionSpecBuilder[] modes = new OptionSpecBuilder[ 200 ];
+        for ( int i = 0; i < modes.length; ++i )
+            modes[ i ] = parser.accepts( "mode" + i );
+        parser.exactlyOneOf( modes );
+
+        assertTrue( parser.parse( "--mode199" ).has( "mode199" ) );
+
+        ParseError error = parser.tryParse( "--mode3", "--mode150" ).errors().get( 0 );
+        assertEquals( asList( "mode3", "mode150" ), error.options() );
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+
+import joptsimple.OptionException;
+import joptsimple.OptionListener;
+import joptsimple.OptionSpec;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OptionListenerTest extends AbstractOptionParserFixture {
+    private final List<String> events = new ArrayList<>();
+    private final OptionListener recorder = new OptionListener() {
+        @Override
+        public void option( OptionSpec<?> option ) {
+            events.add( "option " + option.options() );
+        }
+
+        @Override
+        public void optionArgument( OptionSpec<?> option, String argument ) {
+            events.add( "argument " + option.options() + ' ' + argument );
+        }
+
+        @Override
+        public void nonOptionArgument( String argument ) {
+            events.add( "non-option " + argument );
+        }
+
+        @Override
+        public void optionsEnded() {
+            events.add( "end" );
+        }
+    };
+
+    @Before
+    public final void initializeParser() {
+        parser.accepts( "a" );
+        parser.accepts( "b" ).withOptionalArg();
+        parser.acceptsAll( asList( "c", "count" ) ).withRequiredArg().ofType( Integer.class )
+            .withValuesSeparatedBy( ',' );
+    }
+
+    @Test
+    public void reportsEachPartInOrder() {
+        parser.parse( recorder, "x", "-a", "--count=1,2", "-b", "y", "--", "-a" );
+
+        assertEquals(
+            asList(
+                "non-option x",
+                "option [a]",
+                "option [c, count]",
+                "argument [c, count] 1",
+                "argument [c, count] 2",
+                "option [b]",
+                "argument [b] y",
+                "end",
+                "non-option -a" ),
+            events );
+    }
+
+    @Test
+    public void reportsEachOccurrenceOfRepeatedOption() {
+        parser.parse( recorder, "-aa", "-c", "3", "-c4" );
+
+        assertEquals(
+            asList( "option [a]", "option [a]", "option [c, count]", "argument [c, count] 3", "option [c, count]",
+                "argument [c, count] 4" ),
+            events );
+    }
+
+    @Test
+    public void reportsOptionalArgumentOptionWithoutArgument() {
+        parser.parse( recorder, "-b", "-a" );
+
+        assertEquals( asList( "option [b]", "option [a]" ), events );
+    }
+
+    @Test
+    public void leavesArgumentsUnconverted() {
+        parser.parse( recorder, "-c", "nope" );
+
+        assertEquals( asList( "option [c, count]", "argument [c, count] nope" ), events );
+    }
+
+    @Test
+    public void skipsRequiredOptionChecks() {
+        parser.accepts( "needed" ).withRequiredArg().required();
+
+        parser.parse( recorder, "-a" );
+
+        assertEquals( singletonList( "option [a]" ), events );
+    }
+
+    @Test
+    public void passesUnrecognizedOptionsThroughWhenAllowed() {
+        parser.allowsUnrecognizedOptions();
+
+        parser.parse( recorder, "--bogus", "-a" );
+
+        assertEquals( asList( "non-option --bogus", "option [a]" ), events );
+    }
+
+    @Test
+    public void raisesExceptionForUnrecognizedOption() {
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "bogus" ) );
+
+        parser.parse( recorder, "-a", "--bogus" );
+    }
+
+    @Test
+    public void raisesExceptionForMissingArgument() {
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "c/count" ) );
+
+        parser.parse( recorder, "-c" );
+    }
+
+    @Test
+    public void defaultListenerIgnoresEverything() {
+        parser.parse( new OptionListener() { }, "-a", "x", "--", "y" );
+    }
+
+    @Test
+    public void compiledParserReportsToo() {
+        parser.compile().parse( recorder, "-a" );
+
+        assertEquals( singletonList( "option [a]" ), events );
+    }
+}
@@ -25,12 +25,16 @@
 
 package tests.joptsimple;
 
+import static java.util.Arrays.*;
 import static java.util.Collections.*;
 
 import joptsimple.OptionSet;
+import joptsimple.ParseResult;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class OptionParserUnrecognizedOptionsAllowedTest extends AbstractOptionParserFixture {
     @Test
@@ -41,4 +45,28 @@ public class OptionParserUnrecognizedOptionsAllowedTest extends AbstractOptionPa
 
         assertEquals( singletonList( "-a" ), options.nonOptionArguments() );
     }
+
+    @Test
+    public void unrecognizedTokensPassThroughInOrder() {
+        parser.allowsUnrecognizedOptions();
+        parser.accepts( "v" );
+        parser.accepts( "level" ).withRequiredArg();
+
+        OptionSet options =
+            parser.parse( "-Xmx2g", "--level=3", "--add-opens=a/b", "-vq", "x", "-v", "--verbose" );
+
+        assertTrue( options.has( "v" ) );
+        assertEquals( "3", options.valueOf( "level" ) );
+        assertEquals( asList( "-Xmx2g", "--add-opens=a/b", "-vq", "x", "--verbose" ), options.nonOptionArguments() );
+    }
+
+    @Test
+    public void unrecognizedTokensAreNotErrors() {
+        parser.allowsUnrecognizedOptions();
+
+        ParseResult result = parser.tryParse( "--bogus", "-q" );
+
+        assertFalse( result.hasErrors() );
+        assertEquals( asList( "--bogus", "-q" ), result.options().nonOptionArguments() );
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.*;
+
+import joptsimple.OptionException;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import joptsimple.ValueConversionException;
+import joptsimple.ValueConverter;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OptionSetConvertedValuesTest extends AbstractOptionParserFixture {
+    private final AtomicInteger conversions = new AtomicInteger();
+    private OptionSpec<Integer> count;
+
+    @Before
+    public final void initializeParser() {
+        count = parser.accepts( "count" ).withRequiredArg().withValuesConvertedBy( new CountingConverter() );
+    }
+
+    @Test
+    public void convertsArgumentsOnlyOnceAcrossReads() {
+        OptionSet options = parser.parse( "--count", "1", "--count", "2" );
+
+        for ( int i = 0; i < 10; ++i ) {
+            assertEquals( asList( 1, 2 ), options.valuesOf( count ) );
+            assertEquals( asList( 1, 2 ), options.valuesOf( "count" ) );
+        }
+
+        assertEquals( 2, conversions.get() );
+    }
+
+    @Test
+    public void repeatedReadsGiveSameList() {
+        OptionSet options = parser.parse( "--count", "3" );
+
+        assertSame( options.valuesOf( count ), options.valuesOf( count ) );
+        assertEquals( Integer.valueOf( 3 ), options.valueOf( count ) );
+    }
+
+    @Test
+    public void failedConversionIsNotRemembered() {
+        OptionSet options = parser.parse( "--count", "x" );
+
+        for ( int i = 0; i < 2; ++i ) {
+            try {
+                options.valueOf( count );
+                fail();
+            }
+            catch ( OptionException expected ) {
+                // expected
+            }
+        }
+
+        assertEquals( 2, conversions.get() );
+    }
+
+    @Test
+    public void readsFromManyThreads() throws Exception {
+        OptionSet options = parser.parse( "--count", "4", "--count", "5" );
+
+        ExecutorService threads = Executors.newFixedThreadPool( 4 );
+        try {
+            List<Callable<List<Integer>>> reads = new ArrayList<>();
+            for ( int i = 0; i < 100; ++i )
+                reads.add( () -> options.valuesOf( count ) );
+
+            for ( Future<List<Integer>> each : threads.invokeAll( reads ) )
+                assertEquals( asList( 4, 5 ), each.get() );
+        }
+        finally {
+            threads.shutdown();
+        }
+    }
+
+    private class CountingConverter implements ValueConverter<Integer> {
+        @Override
+        public Integer convert( String value ) {
+            conversions.incrementAndGet();
+            try {
+                return Integer.valueOf( value );
+            }
+            catch ( NumberFormatException ex ) {
+                throw new ValueConversionException( value, ex );
+            }
+        }
+
+        @Override
+        public Class<? extends Integer> valueType() {
+            return Integer.class;
+        }
+
+        @Override
+        public String valuePattern() {
+            return null;
+        }
+    }
+}
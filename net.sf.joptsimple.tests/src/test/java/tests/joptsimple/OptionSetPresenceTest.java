@@ -0,0 +1,99 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OptionSetPresenceTest extends AbstractOptionParserFixture {
+    @Test
+    public void tracksPresenceAcrossManyOptions() {
+        for ( int i = 0; i < 200; ++i )
+            parser.accepts( "o" + i ).withOptionalArg();
+
+        OptionSet options = parser.parse( "--o0", "--o63", "--o64=x", "--o199" );
+
+        for ( int i = 0; i < 200; ++i )
+            assertEquals( "o" + i, i == 0 || i == 63 || i == 64 || i == 199, options.has( "o" + i ) );
+        assertTrue( options.hasArgument( "o64" ) );
+        assertFalse( options.hasArgument( "o63" ) );
+        assertEquals( "x", options.valueOf( "o64" ) );
+    }
+
+    @Test
+    public void doesNotMistakeSpecOfAnotherParser() {
+        OptionSpec<Void> mine = parser.accepts( "a" );
+        OptionSpec<Void> theirs = new OptionParser().accepts( "a" );
+
+        OptionSet options = parser.parse( "-a" );
+
+        assertTrue( options.has( mine ) );
+        assertFalse( options.has( theirs ) );
+        assertFalse( options.hasArgument( theirs ) );
+    }
+
+    @Test
+    public void redeclaredOptionReplacesEarlierSpec() {
+        OptionSpec<Void> earlier = parser.accepts( "a" );
+        OptionSpec<String> later = parser.accepts( "a" ).withRequiredArg();
+
+        OptionSet options = parser.parse( "-a", "x" );
+
+        assertFalse( options.has( earlier ) );
+        assertTrue( options.has( later ) );
+        assertEquals( "x", options.valueOf( later ) );
+    }
+
+    @Test
+    public void synonymTakenOverByLaterSpecStillNamesDetectedSpec() {
+        parser.acceptsAll( asList( "a", "b" ) );
+        OptionSpec<Void> b = parser.accepts( "b" );
+
+        OptionSet withA = parser.parse( "-a" );
+        OptionSet withB = parser.parse( "-b" );
+
+        assertTrue( withA.has( "b" ) );
+        assertFalse( withA.has( b ) );
+        assertFalse( withB.has( "a" ) );
+        assertTrue( withB.has( "b" ) );
+    }
+
+    @Test
+    public void nonOptionsAloneAreNotOptions() {
+        OptionSet options = parser.parse( "x", "y" );
+
+        assertFalse( options.hasOptions() );
+        assertEquals( emptyList(), options.specs() );
+        assertEquals( asList( "x", "y" ), options.nonOptionArguments() );
+    }
+}
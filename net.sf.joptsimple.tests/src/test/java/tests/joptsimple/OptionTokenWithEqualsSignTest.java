@@ -0,0 +1,88 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import static java.util.Collections.*;
+
+import joptsimple.OptionException;
+import joptsimple.OptionSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OptionTokenWithEqualsSignTest extends AbstractOptionParserFixture {
+    @Before
+    public final void initializeParser() {
+        parser.accepts( "define" ).withRequiredArg();
+        parser.accepts( "D" ).withRequiredArg();
+        parser.accepts( "x" );
+    }
+
+    @Test
+    public void longOptionWithEmptyArgumentAfterEqualsSign() {
+        OptionSet options = parser.parse( "--define=" );
+
+        assertEquals( singletonList( "" ), options.valuesOf( "define" ) );
+    }
+
+    @Test
+    public void longOptionArgumentContainingEqualsSigns() {
+        OptionSet options = parser.parse( "--define=a=b=c" );
+
+        assertEquals( singletonList( "a=b=c" ), options.valuesOf( "define" ) );
+    }
+
+    @Test
+    public void abbreviatedLongOptionWithArgumentAfterEqualsSign() {
+        OptionSet options = parser.parse( "--def=value" );
+
+        assertEquals( singletonList( "value" ), options.valuesOf( "define" ) );
+    }
+
+    @Test
+    public void shortOptionWithArgumentAfterEqualsSign() {
+        OptionSet options = parser.parse( "-D=key=value" );
+
+        assertEquals( singletonList( "key=value" ), options.valuesOf( "D" ) );
+    }
+
+    @Test
+    public void unrecognizedLongOptionReportedWithoutArgument() {
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "undefined" ) );
+
+        parser.parse( "--undefined=value" );
+    }
+
+    @Test
+    public void clusterContainingEqualsSignIsNotTakenAsOptionWithArgument() {
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "=" ) );
+
+        parser.parse( "-xx=value" );
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import joptsimple.ValueConversionException;
+import joptsimple.ValueConverter;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OptionalArgumentProbingTest extends AbstractOptionParserFixture {
+    private final AtomicInteger conversions = new AtomicInteger();
+    private final AtomicInteger probes = new AtomicInteger();
+
+    @Test
+    public void convertsProbedArgumentOnlyOnce() {
+        OptionSpec<Integer> level = parser.accepts( "level" ).withOptionalArg()
+            .withValuesConvertedBy( new CountingConverter() );
+
+        OptionSet options = parser.parse( "--level", "3" );
+
+        assertEquals( Integer.valueOf( 3 ), options.valueOf( level ) );
+        assertEquals( Integer.valueOf( 3 ), options.valueOf( level ) );
+        assertEquals( 1, conversions.get() );
+    }
+
+    @Test
+    public void leavesUnconvertibleNextArgumentAsNonOption() {
+        OptionSpec<Integer> level = parser.accepts( "level" ).withOptionalArg()
+            .withValuesConvertedBy( new CountingConverter() );
+
+        OptionSet options = parser.parse( "--level", "high" );
+
+        assertTrue( options.has( level ) );
+        assertNull( options.valueOf( level ) );
+        assertEquals( singletonList( "high" ), options.nonOptionArguments() );
+    }
+
+    @Test
+    public void usesConvertersProbeWithoutConverting() {
+        OptionSpec<Integer> level = parser.accepts( "level" ).withOptionalArg()
+            .withValuesConvertedBy( new ProbingConverter() );
+
+        OptionSet options = parser.parse( "--level", "7", "--level", "x" );
+
+        assertEquals( singletonList( 7 ), options.valuesOf( level ) );
+        assertEquals( singletonList( "x" ), options.nonOptionArguments() );
+        assertEquals( 2, probes.get() );
+        assertEquals( 0, conversions.get() );
+    }
+
+    @Test
+    public void probesEachSeparatedValue() {
+        OptionSpec<Integer> levels = parser.accepts( "levels" ).withOptionalArg()
+            .withValuesSeparatedBy( ',' ).withValuesConvertedBy( new ProbingConverter() );
+
+        OptionSet options = parser.parse( "--levels", "1,2,3" );
+
+        assertEquals( asList( 1, 2, 3 ), options.valuesOf( levels ) );
+        assertEquals( 0, conversions.get() );
+    }
+
+    @Test
+    public void takesArgumentThatConvertsToNull() {
+        OptionSpec<String> x =
+            parser.accepts( "x" ).withOptionalArg().withValuesConvertedBy( new NoneIsNullConverter() );
+
+        OptionSet options = parser.parse( "--x", "none" );
+
+        assertEquals( singletonList( null ), options.valuesOf( x ) );
+        assertEquals( emptyList(), options.nonOptionArguments() );
+    }
+
+    @Test
+    public void builtinFloatingPointTypesProbeArguments() {
+        OptionSpec<Double> ratio = parser.accepts( "ratio" ).withOptionalArg().ofType( Double.class );
+        OptionSpec<BigDecimal> amount = parser.accepts( "amount" ).withOptionalArg().ofType( BigDecimal.class );
+
+        OptionSet options = parser.parse( "--ratio", "-1.5e3", "--amount", "2.50", "--ratio", "x", "--amount", "1e" );
+
+        assertEquals( singletonList( -1500.0 ), options.valuesOf( ratio ) );
+        assertEquals( singletonList( new BigDecimal( "2.50" ) ), options.valuesOf( amount ) );
+        assertEquals( asList( "x", "1e" ), options.nonOptionArguments() );
+    }
+
+    @Test
+    public void builtinIntegerTypeTakesNegativeNumberAsArgument() {
+        OptionSpec<Integer> offset = parser.accepts( "offset" ).withOptionalArg().ofType( Integer.class );
+
+        OptionSet options = parser.parse( "--offset", "-5" );
+
+        assertEquals( Integer.valueOf( -5 ), options.valueOf( offset ) );
+    }
+
+    @Test
+    public void builtinIntegerTypeRejectsOutOfRangeNumberAsArgument() {
+        OptionSpec<Integer> offset = parser.accepts( "offset" ).withOptionalArg().ofType( Integer.class );
+
+        OptionSet options = parser.parse( "--offset", "99999999999" );
+
+        assertTrue( options.has( offset ) );
+        assertEquals( singletonList( "99999999999" ), options.nonOptionArguments() );
+    }
+
+    private class CountingConverter implements ValueConverter<Integer> {
+        @Override
+        public Integer convert( String value ) {
+            conversions.incrementAndGet();
+            try {
+                return Integer.valueOf( value );
+            }
+            catch ( NumberFormatException ex ) {
+                throw new ValueConversionException( value, ex );
+            }
+        }
+
+        @Override
+        public Class<? extends Integer> valueType() {
+            return Integer.class;
+        }
+
+        @Override
+        public String valuePattern() {
+            return null;
+        }
+    }
+
+    private class ProbingConverter extends CountingConverter {
+        @Override
+        public boolean tryConvert( String value, Consumer<? super Integer> action ) {
+            probes.incrementAndGet();
+            if ( value.isEmpty() || !value.chars().allMatch( Character::isDigit ) )
+                return false;
+
+            action.accept( Integer.valueOf( value ) );
+            return true;
+        }
+    }
+
+    private static class NoneIsNullConverter implements ValueConverter<String> {
+        @Override
+        public String convert( String value ) {
+            return "none".equals( value ) ? null : value;
+        }
+
+        @Override
+        public Class<String> valueType() {
+            return String.class;
+        }
+
+        @Override
+        public String valuePattern() {
+            return null;
+        }
+    }
+}
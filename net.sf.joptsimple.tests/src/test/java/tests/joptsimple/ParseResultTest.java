@@ -0,0 +1,183 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+
+import joptsimple.OptionException;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import joptsimple.ParseError;
+import joptsimple.ParseResult;
+import joptsimple.ValueConverter;
+import org.junit.Before;
+import org.junit.Test;
+
+import static joptsimple.ParseError.Kind.*;
+import static org.junit.Assert.*;
+
+public class ParseResultTest extends AbstractOptionParserFixture {
+    private OptionSpec<Integer> count;
+    private OptionSpec<String> name;
+
+    @Before
+    public final void initializeParser() {
+        count = parser.accepts( "count" ).withRequiredArg().ofType( Integer.class );
+        name = parser.acceptsAll( asList( "n", "name" ) ).withRequiredArg().required();
+        parser.accepts( "v" );
+    }
+
+    @Test
+    public void noErrorsForGoodCommandLine() {
+        ParseResult result = parser.tryParse( "--count", "3", "-n", "x", "y" );
+
+        assertFalse( result.hasErrors() );
+        assertEquals( emptyList(), result.errors() );
+        assertEquals( Integer.valueOf( 3 ), result.options().valueOf( count ) );
+        assertEquals( "x", result.options().valueOf( name ) );
+        assertEquals( singletonList( "y" ), result.options().nonOptionArguments() );
+    }
+
+    @Test
+    public void collectsEveryError() {
+        ParseResult result = parser.tryParse( "--bogus", "-vq", "--count", "x", "--count" );
+
+        assertEquals(
+            asList( UNRECOGNIZED_OPTION, UNRECOGNIZED_OPTION, MISSING_ARGUMENT, CONVERSION_FAILURE,
+                MISSING_REQUIRED_OPTIONS ),
+            kinds( result ) );
+        assertEquals( singletonList( "bogus" ), result.errors().get( 0 ).options() );
+        assertEquals( singletonList( "q" ), result.errors().get( 1 ).options() );
+        assertEquals( singletonList( "count" ), result.errors().get( 2 ).options() );
+        assertEquals( "x", result.errors().get( 3 ).argument() );
+        assertEquals( singletonList( "n/name" ), result.errors().get( 4 ).options() );
+    }
+
+    @Test
+    public void keepsWhatCouldBeDetected() {
+        OptionSet options = parser.tryParse( "--bogus", "-n", "x", "--count", "4", "y" ).options();
+
+        assertEquals( "x", options.valueOf( name ) );
+        assertEquals( Integer.valueOf( 4 ), options.valueOf( count ) );
+        assertEquals( singletonList( "y" ), options.nonOptionArguments() );
+    }
+
+    @Test
+    public void unconvertibleArgumentStillRaisesWhenRead() {
+        OptionSet options = parser.tryParse( "--count", "x", "-n", "y" ).options();
+
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "count" ) );
+
+        options.valueOf( count );
+    }
+
+    @Test
+    public void messagesMatchThoseOfExceptions() {
+        ParseResult result = parser.tryParse( "--bogus", "--count", "x" );
+
+        for ( ParseError each : result.errors() ) {
+            OptionException equivalent = each.toException();
+            assertEquals( equivalent.getMessage(), each.message() );
+            assertEquals( equivalent.options(), each.options() );
+        }
+        assertEquals( "bogus is not a recognized option", result.errors().get( 0 ).message() );
+    }
+
+    @Test
+    public void reportsUnavailableOptions() {
+        parser.mutuallyExclusive( parser.accepts( "a" ), parser.accepts( "b" ) );
+
+        ParseResult result = parser.tryParse( "-a", "-b", "-n", "x" );
+
+        assertEquals( singletonList( UNAVAILABLE_OPTIONS ), kinds( result ) );
+    }
+
+    @Test
+    public void acceptsArgumentThatConvertsToNullAsParseDoes() {
+        OptionSpec<String> y =
+            parser.accepts( "y" ).withRequiredArg().withValuesConvertedBy( new NoneIsNullConverter() );
+
+        ParseResult result = parser.tryParse( "--y", "none", "-n", "x" );
+
+        assertEquals( emptyList(), result.errors() );
+        assertEquals( singletonList( null ), result.options().valuesOf( y ) );
+        assertEquals( singletonList( null ), parser.parse( "--y", "none", "-n", "x" ).valuesOf( y ) );
+    }
+
+    @Test
+    public void reportsArgumentsThatBuiltinFloatingPointTypesReject() {
+        parser.accepts( "ratio" ).withRequiredArg().ofType( Double.class );
+
+        ParseResult result = parser.tryParse( "--ratio", "0x1.8p1", "--ratio", "1.5.2", "-n", "x" );
+
+        assertEquals( singletonList( CONVERSION_FAILURE ), kinds( result ) );
+        assertEquals( "1.5.2", result.errors().get( 0 ).argument() );
+    }
+
+    @Test
+    public void throwingParseStillStopsAtFirstError() {
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "bogus" ) );
+
+        parser.parse( "--bogus", "--count" );
+    }
+
+    @Test
+    public void compiledParserCollectsErrors() {
+        ParseResult result = parser.compile().tryParse( "--count" );
+
+        assertEquals( asList( MISSING_ARGUMENT, MISSING_REQUIRED_OPTIONS ), kinds( result ) );
+    }
+
+    private static class NoneIsNullConverter implements ValueConverter<String> {
+        @Override
+        public String convert( String value ) {
+            return "none".equals( value ) ? null : value;
+        }
+
+        @Override
+        public Class<String> valueType() {
+            return String.class;
+        }
+
+        @Override
+        public String valuePattern() {
+            return null;
+        }
+    }
+
+    private static List<ParseError.Kind> kinds( ParseResult result ) {
+        List<ParseError.Kind> kinds = new ArrayList<>();
+        for ( ParseError each : result.errors() )
+            kinds.add( each.kind() );
+        return kinds;
+    }
+}
@@ -25,7 +25,10 @@
 
 package tests.joptsimple;
 
+import java.util.List;
+
 import static java.util.Arrays.*;
+import static java.util.Collections.*;
 
 import joptsimple.OptionSet;
 import org.junit.Test;
@@ -66,6 +69,60 @@ public class ParsingSeparatedStringOptionValuesTest extends AbstractOptionParser
         assertCorrectParse( "c", ",", "-c,/usr,,,/opt,,,/var,,,,," );
     }
 
+    @Test
+    public void splitsOnlyOnWholeMultiCharacterSeparator() {
+        parser.accepts( "c" ).withRequiredArg().withValuesSeparatedBy( "::" );
+
+        OptionSet options = parser.parse( "-c", "a:b::c:::d" );
+
+        assertEquals( asList( "a:b", "c", ":d" ), options.valuesOf( "c" ) );
+    }
+
+    @Test
+    public void leavesArgumentWholeWithoutSeparator() {
+        parser.accepts( "c" ).withRequiredArg();
+
+        OptionSet options = parser.parse( "-c", "a,b" );
+
+        assertEquals( singletonList( "a,b" ), options.valuesOf( "c" ) );
+    }
+
+    @Test
+    public void keepsArgumentOfOnlySeparators() {
+        parser.accepts( "c" ).withRequiredArg().withValuesSeparatedBy( ',' );
+
+        OptionSet options = parser.parse( "-c", ",," );
+
+        assertEquals( singletonList( ",," ), options.valuesOf( "c" ) );
+    }
+
+    @Test
+    public void honorsEscapedSeparators() {
+        parser.accepts( "c" ).withRequiredArg().withValuesSeparatedBy( ",", '\\' );
+
+        OptionSet options = parser.parse( "-c", "a\\,b,c\\\\,d\\e" );
+
+        assertEquals( asList( "a,b", "c\\", "d\\e" ), options.valuesOf( "c" ) );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void rejectsEscapeWithinSeparator() {
+        parser.accepts( "c" ).withRequiredArg().withValuesSeparatedBy( "/,", '/' );
+    }
+
+    @Test
+    public void splitsLongLists() {
+        StringBuilder argument = new StringBuilder();
+        for ( int i = 0; i < 50000; ++i )
+            argument.append( i ).append( ',' );
+        parser.accepts( "hosts" ).withRequiredArg().ofType( Integer.class ).withValuesSeparatedBy( ',' );
+
+        List<?> hosts = parser.parse( "--hosts", argument.toString() ).valuesOf( "hosts" );
+
+        assertEquals( 50000, hosts.size() );
+        assertEquals( 49999, hosts.get( 49999 ) );
+    }
+
     private void assertCorrectParse( String option, String separator, String... args ) {
         parser.accepts( option ).withRequiredArg().withValuesSeparatedBy( separator );
 
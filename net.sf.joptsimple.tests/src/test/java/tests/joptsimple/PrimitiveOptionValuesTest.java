@@ -0,0 +1,113 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import static java.util.Arrays.*;
+
+import joptsimple.OptionException;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PrimitiveOptionValuesTest extends AbstractOptionParserFixture {
+    private OptionSpec<Integer> shards;
+    private OptionSpec<Long> offset;
+    private OptionSpec<Double> ratio;
+    private OptionSpec<Integer> boxed;
+
+    @Before
+    public final void initializeParser() {
+        shards = parser.accepts( "shards" ).withRequiredArg().ofInt().withValuesSeparatedBy( ',' );
+        offset = parser.accepts( "offset" ).withRequiredArg().ofLong().defaultsTo( 7L );
+        ratio = parser.accepts( "ratio" ).withOptionalArg().ofDouble();
+        boxed = parser.accepts( "boxed" ).withRequiredArg().ofType( Integer.class );
+    }
+
+    @Test
+    public void readsPrimitiveArrays() {
+        OptionSet options = parser.parse( "--shards", "1,2,3", "--shards", "-4", "--ratio", "0.5" );
+
+        assertArrayEquals( new int[] { 1, 2, 3, -4 }, options.intValuesOf( shards ) );
+        assertArrayEquals( new double[] { 0.5 }, options.doubleValuesOf( ratio ), 0.0 );
+    }
+
+    @Test
+    public void readsSingleValues() {
+        OptionSet options = parser.parse( "--offset", "9000000000", "--ratio", "2.5" );
+
+        assertEquals( 9000000000L, options.longValueOf( offset, -1L ) );
+        assertEquals( 2.5, options.doubleValueOf( ratio, 0.0 ), 0.0 );
+    }
+
+    @Test
+    public void fallsBackToDefaultsThenToGivenValue() {
+        OptionSet options = parser.parse();
+
+        assertEquals( 7L, options.longValueOf( offset, -1L ) );
+        assertArrayEquals( new long[] { 7L }, options.longValuesOf( offset ) );
+        assertEquals( -1, options.intValueOf( shards, -1 ) );
+        assertArrayEquals( new int[ 0 ], options.intValuesOf( shards ) );
+    }
+
+    @Test
+    public void agreesWithBoxedValues() {
+        OptionSet options = parser.parse( "--shards", "5,6", "--boxed", "8" );
+
+        assertEquals( asList( 5, 6 ), options.valuesOf( shards ) );
+        assertArrayEquals( new int[] { 5, 6 }, options.intValuesOf( shards ) );
+        assertEquals( 8, options.intValueOf( boxed, 0 ) );
+    }
+
+    @Test
+    public void rejectsMultipleValuesForSingleValue() {
+        OptionSet options = parser.parse( "--shards", "1,2" );
+
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "shards" ) );
+
+        options.intValueOf( shards, 0 );
+    }
+
+    @Test
+    public void rejectsUnconvertibleValue() {
+        OptionSet options = parser.parse( "--shards", "1,x" );
+
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "shards" ) );
+
+        options.intValuesOf( shards );
+    }
+
+    @Test
+    public void laterTypeReplacesPrimitiveType() {
+        OptionSpec<String> named = parser.accepts( "named" ).withRequiredArg().ofInt().ofType( String.class );
+
+        assertEquals( "x", parser.parse( "--named", "x" ).valueOf( named ) );
+    }
+}
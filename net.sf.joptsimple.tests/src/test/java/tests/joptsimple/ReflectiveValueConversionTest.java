@@ -0,0 +1,149 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import static java.util.Arrays.*;
+
+import joptsimple.OptionException;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ReflectiveValueConversionTest extends AbstractOptionParserFixture {
+    @Test
+    public void convertsThroughValueOfMethod() {
+        OptionSpec<Integer> count = parser.accepts( "count" ).withRequiredArg().ofType( int.class );
+
+        OptionSet options = parser.parse( "--count", "12", "--count", "-3" );
+
+        assertEquals( asList( 12, -3 ), options.valuesOf( count ) );
+    }
+
+    @Test
+    public void convertsThroughConstructor() {
+        OptionSpec<Wrapped> wrapped = parser.accepts( "w" ).withRequiredArg().ofType( Wrapped.class );
+
+        OptionSet options = parser.parse( "-w", "abc" );
+
+        assertEquals( "abc", options.valueOf( wrapped ).value );
+    }
+
+    @Test
+    public void sameTypeOnManyOptions() {
+        OptionSpec<Integer> a = parser.accepts( "a" ).withRequiredArg().ofType( Integer.class );
+        OptionSpec<Integer> b = parser.accepts( "b" ).withRequiredArg().ofType( Integer.class );
+
+        OptionSet options = parser.parse( "-a", "1", "-b", "2" );
+
+        assertEquals( Integer.valueOf( 1 ), options.valueOf( a ) );
+        assertEquals( Integer.valueOf( 2 ), options.valueOf( b ) );
+    }
+
+    @Test
+    public void keepsWhatValueOfMethodThrowsAsUnderlyingCause() {
+        OptionSpec<Failing> failing = parser.accepts( "f" ).withRequiredArg().ofType( Failing.class );
+        OptionSet options = parser.parse( "-f", "x" );
+
+        try {
+            options.valueOf( failing );
+            fail();
+        }
+        catch ( OptionException expected ) {
+            assertTrue( expected.getCause().getCause() instanceof IllegalStateException );
+        }
+    }
+
+    @Test
+    public void keepsWhatConstructorThrowsAsUnderlyingCause() {
+        OptionSpec<Wrapped> wrapped = parser.accepts( "w" ).withRequiredArg().ofType( Wrapped.class );
+        OptionSet options = parser.parse( "-w", "" );
+
+        try {
+            options.valueOf( wrapped );
+            fail();
+        }
+        catch ( OptionException expected ) {
+            assertTrue( expected.getCause().getCause() instanceof IllegalArgumentException );
+        }
+    }
+
+    @Test( expected = StackOverflowError.class )
+    public void letsErrorsFromConverterPropagate() {
+        OptionSpec<Overflowing> overflowing = parser.accepts( "o" ).withRequiredArg().ofType( Overflowing.class );
+        OptionSet options = parser.parse( "-o", "x" );
+
+        options.valueOf( overflowing );
+    }
+
+    @Test
+    public void reportsInaccessibleConverterWhenConverting() {
+        OptionSpec<Hidden> hidden = parser.accepts( "h" ).withRequiredArg().ofType( Hidden.class );
+        OptionSet options = parser.parse( "-h", "x" );
+
+        try {
+            options.valueOf( hidden );
+            fail();
+        }
+        catch ( OptionException expected ) {
+            assertTrue( expected.getCause().getCause() instanceof IllegalAccessException );
+        }
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void rejectsTypeWithoutConverter() {
+        parser.accepts( "o" ).withRequiredArg().ofType( Object.class );
+    }
+
+    public static class Wrapped {
+        final String value;
+
+        public Wrapped( String value ) {
+            if ( value.isEmpty() )
+                throw new IllegalArgumentException();
+            this.value = value;
+        }
+    }
+
+    public static class Failing {
+        public static Failing valueOf( String value ) {
+            throw new IllegalStateException( value );
+        }
+    }
+
+    public static class Overflowing {
+        public static Overflowing valueOf( String value ) {
+            throw new StackOverflowError( value );
+        }
+    }
+
+    static class Hidden {
+        public static Hidden valueOf( String value ) {
+            return new Hidden();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import static java.util.Collections.*;
+
+import joptsimple.OptionException;
+import joptsimple.OptionSet;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ShortOptionClusterLookupTest extends AbstractOptionParserFixture {
+    @Test
+    public void clusterMixingAsciiAndNonAsciiOptions() {
+        parser.accepts( "a" );
+        parser.accepts( "\u00e9" );
+        parser.accepts( "\u03bb" ).withRequiredArg();
+
+        OptionSet options = parser.parse( "-a\u00e9\u03bbvalue" );
+
+        assertOptionDetected( options, "a" );
+        assertOptionDetected( options, "\u00e9" );
+        assertEquals( singletonList( "value" ), options.valuesOf( "\u03bb" ) );
+    }
+
+    @Test
+    public void clusterCharacterMatchingUniqueAbbreviationOfLongOption() {
+        parser.accepts( "a" );
+        parser.accepts( "verbose" );
+
+        OptionSet options = parser.parse( "-av" );
+
+        assertOptionDetected( options, "a" );
+        assertOptionDetected( options, "verbose" );
+    }
+
+    @Test
+    public void clusterCharacterAmbiguousBetweenLongOptions() {
+        parser.accepts( "a" );
+        parser.accepts( "verbose" );
+        parser.accepts( "version" );
+
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "v" ) );
+        parser.parse( "-av" );
+    }
+
+    @Test
+    public void clusterCharacterRecognizedAfterEarlierParse() {
+        parser.accepts( "a" );
+        parser.parse( "-a" );
+
+        parser.accepts( "b" );
+        OptionSet options = parser.parse( "-ab" );
+
+        assertOptionDetected( options, "a" );
+        assertOptionDetected( options, "b" );
+    }
+
+    @Test
+    public void unrecognizedNonAsciiCharacterInCluster() {
+        parser.accepts( "a" );
+
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "\u00e9" ) );
+        parser.parse( "-a\u00e9" );
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import joptsimple.OptionException;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StacklessExceptionsTest extends AbstractOptionParserFixture {
+    private OptionSpec<Integer> count;
+
+    @Before
+    public final void initializeParser() {
+        count = parser.accepts( "count" ).withRequiredArg().ofType( Integer.class );
+        parser.accepts( "name" ).withRequiredArg().required();
+    }
+
+    @Test
+    public void recordsStackTracesByDefault() {
+        assertNotEquals( 0, failureOf( "--bogus" ).getStackTrace().length );
+    }
+
+    @Test
+    public void parseFailuresHaveNoStackTrace() {
+        parser.raisesStacklessExceptions( true );
+
+        assertStackless( failureOf( "--bogus" ), "bogus is not a recognized option" );
+        assertStackless( failureOf( "--name" ), "Option name requires an argument" );
+        assertStackless( failureOf( "--count", "1" ), "Missing required option(s) [name]" );
+    }
+
+    @Test
+    public void failuresReadingOptionSetHaveNoStackTrace() {
+        parser.raisesStacklessExceptions( true );
+        OptionSet options = parser.parse( "--name", "a", "--count", "x", "--count", "y" );
+
+        try {
+            options.valuesOf( count );
+            fail();
+        } catch ( OptionException expected ) {
+            assertStackless( expected, "Cannot parse argument 'x' of option count" );
+        }
+    }
+
+    @Test
+    public void conversionFailuresCarryNoCause() {
+        parser.raisesStacklessExceptions( true );
+        OptionSpec<Integer> level = parser.accepts( "level" ).withRequiredArg().ofInt();
+        OptionSpec<Double> ratio = parser.accepts( "ratio" ).withRequiredArg().ofType( Double.class );
+        OptionSpec<Thread.State> state = parser.accepts( "state" ).withRequiredArg().ofType( Thread.State.class );
+        OptionSet options =
+            parser.parse( "--name", "a", "--count", "x", "--level", "y", "--ratio", "z", "--state", "w" );
+
+        assertCauseless( () -> options.valueOf( count ), "Cannot parse argument 'x' of option count" );
+        assertCauseless( () -> options.intValueOf( level, 0 ), "Cannot parse argument 'y' of option level" );
+        assertCauseless( () -> options.valueOf( ratio ), "Cannot parse argument 'z' of option ratio" );
+        assertCauseless( () -> options.valueOf( state ), "Cannot parse argument 'w' of option state" );
+    }
+
+    @Test
+    public void conversionFailuresKeepCauseByDefault() {
+        OptionSet options = parser.parse( "--name", "a", "--count", "x" );
+
+        try {
+            options.valueOf( count );
+            fail();
+        } catch ( OptionException expected ) {
+            assertNotNull( expected.getCause() );
+        }
+    }
+
+    @Test
+    public void compiledParserKeepsSetting() {
+        parser.raisesStacklessExceptions( true );
+
+        try {
+            parser.compile().parse( "--bogus" );
+            fail();
+        } catch ( OptionException expected ) {
+            assertEquals( 0, expected.getStackTrace().length );
+        }
+    }
+
+    @Test
+    public void messageIsFormattedOnce() {
+        OptionException failure = failureOf( "--bogus" );
+
+        assertSame( failure.getMessage(), failure.getMessage() );
+    }
+
+    private OptionException failureOf( String... arguments ) {
+        try {
+            parser.parse( arguments );
+        } catch ( OptionException expected ) {
+            return expected;
+        }
+
+        throw new AssertionError( "expected parse to fail" );
+    }
+
+    private static void assertCauseless( Runnable read, String message ) {
+        try {
+            read.run();
+            fail();
+        } catch ( OptionException expected ) {
+            assertStackless( expected, message );
+            assertNull( expected.getCause() );
+        }
+    }
+
+    private static void assertStackless( OptionException failure, String message ) {
+        assertEquals( 0, failure.getStackTrace().length );
+        assertEquals( message, failure.getMessage() );
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+import static java.util.stream.Collectors.*;
+
+import joptsimple.OptionException;
+import joptsimple.OptionSpec;
+import joptsimple.StreamingParse;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StreamingParseTest extends AbstractOptionParserFixture {
+    private OptionSpec<Integer> count;
+
+    @Before
+    public final void initializeParser() {
+        count = parser.accepts( "count" ).withRequiredArg().ofType( Integer.class );
+        parser.accepts( "v" );
+    }
+
+    @Test
+    public void readsOnlyUpToFirstNonOptionArgument() {
+        CountingIterator arguments = new CountingIterator( "--count", "3", "-v", "a", "b", "c" );
+
+        StreamingParse parse = parser.parseStreaming( arguments );
+
+        assertEquals( 4, arguments.read );
+        assertFalse( parse.isComplete() );
+        assertEquals( Integer.valueOf( 3 ), parse.options().valueOf( count ) );
+        assertTrue( parse.options().has( "v" ) );
+    }
+
+    @Test
+    public void streamsNonOptionArgumentsLazily() {
+        CountingIterator arguments = new CountingIterator( "-v", "a", "b", "c", "d" );
+        StreamingParse parse = parser.parseStreaming( arguments );
+
+        assertEquals( asList( "a", "b" ), parse.nonOptionArguments().limit( 2 ).collect( toList() ) );
+        assertEquals( 3, arguments.read );
+        assertFalse( parse.isComplete() );
+    }
+
+    @Test
+    public void picksUpOptionsBetweenNonOptionArguments() {
+        StreamingParse parse = parser.parseStreaming( Stream.of( "a", "--count", "4", "b", "-v" ) );
+
+        assertFalse( parse.options().has( count ) );
+        assertEquals( asList( "a", "b" ), parse.nonOptionArguments().collect( toList() ) );
+        assertTrue( parse.isComplete() );
+        assertEquals( Integer.valueOf( 4 ), parse.options().valueOf( count ) );
+        assertTrue( parse.options().has( "v" ) );
+        assertEquals( emptyList(), parse.options().nonOptionArguments() );
+    }
+
+    @Test
+    public void treatsArgumentsAfterDoubleHyphenAsNonOptions() {
+        StreamingParse parse = parser.parseStreaming( Stream.of( "-v", "--", "--count", "a" ) );
+
+        assertEquals( asList( "--count", "a" ), parse.nonOptionArguments().collect( toList() ) );
+        assertFalse( parse.options().has( count ) );
+    }
+
+    @Test
+    public void posixlyCorrectParserStopsLookingForOptionsAtFirstNonOption() {
+        parser.posixlyCorrect( true );
+
+        StreamingParse parse = parser.parseStreaming( Stream.of( "-v", "a", "--count", "4" ) );
+
+        assertEquals( asList( "a", "--count", "4" ), parse.nonOptionArguments().collect( toList() ) );
+        assertFalse( parse.options().has( count ) );
+    }
+
+    @Test
+    public void completesAtOnceWithoutNonOptionArguments() {
+        StreamingParse parse = parser.parseStreaming( Stream.of( "--count", "5" ) );
+
+        assertTrue( parse.isComplete() );
+        assertEquals( 0, parse.nonOptionArguments().count() );
+    }
+
+    @Test
+    public void matchesNonStreamingParse() {
+        String[] arguments = { "-v", "x", "--count=2", "y" };
+
+        StreamingParse parse = parser.parseStreaming( Stream.of( arguments ) );
+        List<String> nonOptions = parse.nonOptionArguments().collect( toList() );
+
+        assertEquals( parser.parse( arguments ).nonOptionArguments(), nonOptions );
+        assertEquals( parser.parse( arguments ).valueOf( count ), parse.options().valueOf( count ) );
+    }
+
+    @Test
+    public void leavesTrailingLongOptionArgumentIntact() {
+        parser.recognizeAlternativeLongOptions( true );
+
+        StreamingParse parse = parser.parseStreaming( Stream.of( "-W", "count=6", "a" ) );
+
+        assertEquals( singletonList( "a" ), parse.nonOptionArguments().collect( toList() ) );
+        assertEquals( Integer.valueOf( 6 ), parse.options().valueOf( count ) );
+    }
+
+    @Test
+    public void raisesProblemsBeforeFirstNonOptionEagerly() {
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "bogus" ) );
+
+        parser.parseStreaming( Stream.of( "--bogus", "a" ) );
+    }
+
+    @Test
+    public void raisesMissingRequiredOptionsAtEndOfStream() {
+        parser.accepts( "needed" ).withRequiredArg().required();
+        StreamingParse parse = parser.parseStreaming( Stream.of( "a", "b" ) );
+
+        thrown.expect( OptionException.class );
+        thrown.expect( ExceptionMatchers.withOption( "needed" ) );
+
+        parse.nonOptionArguments().forEach( each -> { } );
+    }
+
+    @Test( expected = IllegalStateException.class )
+    public void streamsNonOptionArgumentsOnlyOnce() {
+        StreamingParse parse = parser.parseStreaming( Stream.of( "a" ) );
+        parse.nonOptionArguments();
+
+        parse.nonOptionArguments();
+    }
+
+    private static class CountingIterator implements Iterator<String> {
+        private final Iterator<String> arguments;
+        int read;
+
+        CountingIterator( String... arguments ) {
+            this.arguments = asList( arguments ).iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return arguments.hasNext();
+        }
+
+        @Override
+        public String next() {
+            ++read;
+            return arguments.next();
+        }
+    }
+}
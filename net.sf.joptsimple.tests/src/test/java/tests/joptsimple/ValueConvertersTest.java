@@ -0,0 +1,206 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package tests.joptsimple;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.UUID;
+
+import joptsimple.ArgumentAcceptingOptionSpec;
+import joptsimple.OptionException;
+import joptsimple.OptionParser;
+import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
+import joptsimple.ValueConverter;
+import joptsimple.ValueConverters;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ValueConvertersTest extends AbstractOptionParserFixture {
+    @Test
+    public void convertsWrappersAndPrimitives() {
+        OptionSpec<Long> big = parser.accepts( "big" ).withRequiredArg().ofType( long.class );
+        OptionSpec<Double> ratio = parser.accepts( "ratio" ).withRequiredArg().ofType( Double.class );
+        OptionSpec<Boolean> flag = parser.accepts( "flag" ).withRequiredArg().ofType( boolean.class );
+
+        OptionSet options = parser.parse( "--big", "12345678901", "--ratio", "0.5", "--flag", "true" );
+
+        assertEquals( Long.valueOf( 12345678901L ), options.valueOf( big ) );
+        assertEquals( Double.valueOf( 0.5 ), options.valueOf( ratio ) );
+        assertEquals( Boolean.TRUE, options.valueOf( flag ) );
+    }
+
+    @Test
+    public void convertsCommonJdkTypes() {
+        OptionSpec<BigDecimal> amount = parser.accepts( "amount" ).withRequiredArg().ofType( BigDecimal.class );
+        OptionSpec<UUID> id = parser.accepts( "id" ).withRequiredArg().ofType( UUID.class );
+        OptionSpec<Path> path = parser.accepts( "path" ).withRequiredArg().ofType( Path.class );
+        OptionSpec<Duration> timeout = parser.accepts( "timeout" ).withRequiredArg().ofType( Duration.class );
+
+        UUID uuid = UUID.randomUUID();
+        OptionSet options =
+            parser.parse( "--amount", "1.25", "--id", uuid.toString(), "--path", "a/b", "--timeout", "PT5S" );
+
+        assertEquals( new BigDecimal( "1.25" ), options.valueOf( amount ) );
+        assertEquals( uuid, options.valueOf( id ) );
+        assertEquals( Paths.get( "a/b" ), options.valueOf( path ) );
+        assertEquals( Duration.ofSeconds( 5 ), options.valueOf( timeout ) );
+    }
+
+    @Test
+    public void nonOptionArgumentsOfBuiltinType() {
+        OptionSpec<Integer> numbers = parser.nonOptions().ofType( int.class );
+
+        OptionSet options = parser.parse( "1", "2" );
+
+        assertEquals( Integer.valueOf( 2 ), options.valuesOf( numbers ).get( 1 ) );
+    }
+
+    @Test
+    public void describesArgumentTypeForHelp() {
+        ArgumentAcceptingOptionSpec<Integer> count = parser.accepts( "i" ).withRequiredArg().ofType( int.class );
+
+        assertEquals( "java.lang.Integer", count.argumentTypeIndicator() );
+    }
+
+    @Test
+    public void unconvertibleArgumentOfBuiltinTypeFailsAsReflectiveConversionWould() {
+        OptionSpec<Integer> count = parser.accepts( "count" ).withRequiredArg().ofType( Integer.class );
+        OptionSpec<ReflectiveValueConversionTest.Failing> failing =
+            parser.accepts( "f" ).withRequiredArg().ofType( ReflectiveValueConversionTest.Failing.class );
+        OptionSet options = parser.parse( "--count", "many", "-f", "x" );
+
+        Throwable builtin = conversionFailureOf( options, count );
+        Throwable reflective = conversionFailureOf( options, failing );
+
+        assertSame( reflective.getClass(), builtin.getClass() );
+        assertTrue( builtin.getCause() instanceof NumberFormatException );
+    }
+
+    @Test
+    public void usesRegisteredConverter() {
+        parser.valueConverters().register( Coordinates.class, new CoordinatesConverter() );
+        OptionSpec<Coordinates> at = parser.accepts( "at" ).withRequiredArg().ofType( Coordinates.class );
+
+        OptionSet options = parser.parse( "--at", "3,4" );
+
+        assertEquals( 3, options.valueOf( at ).x );
+        assertEquals( 4, options.valueOf( at ).y );
+    }
+
+    @Test
+    public void registeredConverterAppliesOnlyToItsParser() {
+        parser.valueConverters().register( Integer.class, new TwiceConverter() );
+        OptionParser other = new OptionParser();
+
+        OptionSpec<Integer> mine = parser.accepts( "n" ).withRequiredArg().ofType( Integer.class );
+        OptionSpec<Integer> theirs = other.accepts( "n" ).withRequiredArg().ofType( Integer.class );
+
+        assertEquals( Integer.valueOf( 6 ), parser.parse( "--n", "3" ).valueOf( mine ) );
+        assertEquals( Integer.valueOf( 3 ), other.parse( "--n", "3" ).valueOf( theirs ) );
+    }
+
+    @Test
+    public void unregisteredTypeFallsBackToBuiltinConverter() {
+        ValueConverters converters = parser.valueConverters();
+        converters.register( int.class, new TwiceConverter() );
+        OptionSpec<Integer> before = parser.accepts( "before" ).withRequiredArg().ofType( Integer.class );
+        converters.unregister( Integer.class );
+        OptionSpec<Integer> after = parser.accepts( "after" ).withRequiredArg().ofType( int.class );
+
+        OptionSet options = parser.parse( "--before", "3", "--after", "3" );
+
+        assertEquals( Integer.valueOf( 6 ), options.valueOf( before ) );
+        assertEquals( Integer.valueOf( 3 ), options.valueOf( after ) );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void rejectsNullConverter() {
+        parser.valueConverters().register( Coordinates.class, null );
+    }
+
+    @Test( expected = NullPointerException.class )
+    public void rejectsNullType() {
+        parser.valueConverters().register( null, new CoordinatesConverter() );
+    }
+
+    private static Throwable conversionFailureOf( OptionSet options, OptionSpec<?> option ) {
+        try {
+            options.valueOf( option );
+            throw new AssertionError( "expected conversion of " + option + " to fail" );
+        } catch ( OptionException expected ) {
+            return expected.getCause();
+        }
+    }
+
+    public static final class Coordinates {
+        final int x;
+        final int y;
+
+        Coordinates( int x, int y ) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    private static class TwiceConverter implements ValueConverter<Integer> {
+        @Override
+        public Integer convert( String value ) {
+            return 2 * Integer.parseInt( value );
+        }
+
+        @Override
+        public Class<Integer> valueType() {
+            return Integer.class;
+        }
+
+        @Override
+        public String valuePattern() {
+            return null;
+        }
+    }
+
+    private static class CoordinatesConverter implements ValueConverter<Coordinates> {
+        @Override
+        public Coordinates convert( String value ) {
+            String[] parts = value.split( "," );
+            return new Coordinates( Integer.parseInt( parts[ 0 ] ), Integer.parseInt( parts[ 1 ] ) );
+        }
+
+        @Override
+        public Class<Coordinates> valueType() {
+            return Coordinates.class;
+        }
+
+        @Override
+        public String valuePattern() {
+            return "x,y";
+        }
+    }
+}
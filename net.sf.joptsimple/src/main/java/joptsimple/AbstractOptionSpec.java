@@ -41,9 +41,17 @@ import static joptsimple.internal.Strings.*;
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
 public abstract class AbstractOptionSpec<V> implements OptionSpec<V>, OptionDescriptor {
+    /*
+     * What tryConvert() gives for an argument that cannot be converted; null is a possible converted value.
+     */
+    static final Object UNCONVERTIBLE = new Object();
+
     private final List<String> options = new ArrayList<>();
     private final String description;
     private boolean forHelp;
+    private OptionParser parser;
+    private int ordinal = -1;
+    private boolean compiled;
 
     AbstractOptionSpec( String option ) {
         this( singletonList( option ), EMPTY );
@@ -81,7 +89,9 @@ public abstract class AbstractOptionSpec<V> implements OptionSpec<V>, OptionDesc
     }
 
     public final AbstractOptionSpec<V> forHelp() {
+        ensureConfigurable();
         forHelp = true;
+        configurationChanged();
         return this;
     }
 
@@ -97,14 +107,74 @@ public abstract class AbstractOptionSpec<V> implements OptionSpec<V>, OptionDesc
 
     protected abstract V convert( String argument );
 
+    /*
+     * Converts as convert() does, but raises an exception that records no stack trace unless asked to.
+     */
+    V convert( String argument, boolean writableStackTrace ) {
+        return convert( argument );
+    }
+
+    /*
+     * Converts the given argument to a primitive value. Specs whose arguments are declared primitive do so without
+     * boxing; others unbox the converted value.
+     */
+    int intValue( String argument, boolean writableStackTrace ) {
+        return (Integer) convert( argument, writableStackTrace );
+    }
+
+    long longValue( String argument, boolean writableStackTrace ) {
+        return (Long) convert( argument, writableStackTrace );
+    }
+
+    double doubleValue( String argument, boolean writableStackTrace ) {
+        return (Double) convert( argument, writableStackTrace );
+    }
+
     protected V convertWith( ValueConverter<V> converter, String argument ) {
+        return convertWith( converter, argument, true );
+    }
+
+    /*
+     * Without stack traces, the argument is probed rather than converted, so that converters that can tell cheaply
+     * whether it converts build no exception at all; the exception raised then carries no cause.
+     */
+    @SuppressWarnings( "unchecked" )
+    V convertWith( ValueConverter<V> converter, String argument, boolean writableStackTrace ) {
+        if ( !writableStackTrace ) {
+            Object converted = tryConvertWith( converter, argument );
+            if ( converted == UNCONVERTIBLE )
+                throw new OptionArgumentConversionException( this, argument, null, false );
+            return (V) converted;
+        }
+
         try {
             return Reflection.convertWith( converter, argument );
         } catch ( ReflectionException | ValueConversionException ex ) {
-            throw new OptionArgumentConversionException( this, argument, ex );
+            throw new OptionArgumentConversionException( this, argument, ex, writableStackTrace );
+        }
+    }
+
+    /*
+     * Converts the given argument as convert() would, giving UNCONVERTIBLE rather than raising an exception when the
+     * argument cannot be converted. A conversion may give null.
+     */
+    Object tryConvert( String argument ) {
+        try {
+            return convert( argument );
+        } catch ( OptionException ex ) {
+            return UNCONVERTIBLE;
         }
     }
 
+    Object tryConvertWith( ValueConverter<V> converter, String argument ) {
+        if ( converter == null )
+            return argument;
+
+        Object[] converted = { UNCONVERTIBLE };
+        converter.tryConvert( argument, value -> converted[ 0 ] = value );
+        return converted[ 0 ];
+    }
+
     protected String argumentTypeIndicatorFrom( ValueConverter<V> converter ) {
         if ( converter == null )
             return null;
@@ -113,7 +183,51 @@ public abstract class AbstractOptionSpec<V> implements OptionSpec<V>, OptionDesc
         return pattern == null ? converter.valueType().getName() : pattern;
     }
 
-    abstract void handleOption( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions,
+    /*
+     * Gives the converter that ofType() uses for the given type: the one registered with the recognizing parser, if
+     * any, else the default one.
+     */
+    <T> ValueConverter<T> converterFor( Class<T> type ) {
+        return parser == null
+            ? ValueConverters.defaultConverterFor( type )
+            : parser.valueConverters().converterFor( type );
+    }
+
+    void recognizedBy( OptionParser recognizer, int ordinal ) {
+        parser = recognizer;
+        this.ordinal = ordinal;
+    }
+
+    /*
+     * The index of this spec among the options of its parser, by which option sets keep track of it; -1 if no parser
+     * has recognized it.
+     */
+    final int ordinal() {
+        return ordinal;
+    }
+
+    /*
+     * Marks this spec as shared with a compiled parser, after which it may not be configured further.
+     */
+    final void compiled() {
+        compiled = true;
+    }
+
+    final void ensureConfigurable() {
+        if ( compiled )
+            throw new IllegalStateException( "option " + options + " belongs to a compiled parser" );
+    }
+
+    /*
+     * Lets the recognizing parser know that it should recompute what it derives from its options' configuration: which
+     * of them are required or for help, and their help text.
+     */
+    final void configurationChanged() {
+        if ( parser != null )
+            parser.optionsChanged();
+    }
+
+    abstract void handleOption( OptionParser parser, ArgumentList arguments, DetectedOptions detectedOptions,
         String detectedArgument );
 
     private void arrangeOptions( List<String> unarranged ) {
@@ -56,9 +56,12 @@ class AlternativeLongOptionSpec extends ArgumentAcceptingOptionSpec<String> {
     }
 
     @Override
-    protected void detectOptionArgument( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions ) {
-        if ( !arguments.hasMore() )
-            throw new OptionMissingRequiredArgumentException( this );
+    void detectOptionArgument( OptionParser parser, ArgumentList arguments, DetectedOptions detectedOptions ) {
+
+        if ( !arguments.hasMore() ) {
+            arguments.reportError( ParseError.missingArgument( this ) );
+            return;
+        }
 
         arguments.treatNextAsLongOption();
     }
@@ -26,14 +26,17 @@
 package joptsimple;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.StringTokenizer;
+
+import joptsimple.internal.BuiltinConverters;
+import joptsimple.internal.ReflectionException;
+import joptsimple.internal.ValueSplitter;
 
 import static java.util.Collections.*;
 import static java.util.Objects.*;
 
-import static joptsimple.internal.Reflection.*;
 import static joptsimple.internal.Strings.*;
 
 /**
@@ -63,8 +66,9 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
 
     private boolean optionRequired;
     private ValueConverter<V> converter;
+    private Class<?> primitiveType;
     private String argumentDescription = "";
-    private String valueSeparator = String.valueOf( NIL_VALUE_SEPARATOR );
+    private ValueSplitter valueSplitter = ValueSplitter.none();
 
     ArgumentAcceptingOptionSpec( String option, boolean argumentRequired ) {
         super( option );
@@ -94,6 +98,10 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
      * <p>This class converts arguments using those methods in that order; that is, {@code valueOf} would be invoked
      * before a one-{@link String}-arg constructor would.</p>
      *
+     * <p>A converter {@linkplain ValueConverters#register(Class, ValueConverter) registered} for the type with this
+     * option's parser, or one of the {@linkplain ValueConverters built-in converters} for common JDK types, is used in
+     * preference to either.</p>
+     *
      * <p>Invoking this method will trump any previous calls to this method or to
      * {@link #withValuesConvertedBy(ValueConverter)}.</p>
      *
@@ -104,7 +112,7 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
      * @throws IllegalArgumentException if the type does not have the standard conversion methods
      */
     public final <T> ArgumentAcceptingOptionSpec<T> ofType( Class<T> argumentType ) {
-        return withValuesConvertedBy( findConverter( argumentType ) );
+        return withValuesConvertedBy( converterFor( argumentType ) );
     }
 
     /**
@@ -121,13 +129,71 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
      */
     @SuppressWarnings( "unchecked" )
     public final <T> ArgumentAcceptingOptionSpec<T> withValuesConvertedBy( ValueConverter<T> aConverter ) {
+        ensureConfigurable();
+
         if ( aConverter == null )
             throw new NullPointerException( "illegal null converter" );
 
         converter = (ValueConverter<V>) aConverter;
+        primitiveType = null;
+        configurationChanged();
         return (ArgumentAcceptingOptionSpec<T>) this;
     }
 
+    /**
+     * <p>Specifies that arguments of this spec's option are {@code int}s.</p>
+     *
+     * <p>The arguments can then be read with {@link OptionSet#intValuesOf(OptionSpec)} and
+     * {@link OptionSet#intValueOf(OptionSpec, int)}, which parse them to primitives without boxing, as well as
+     * with the usual methods as {@link Integer}s.</p>
+     *
+     * <p>Invoking this method will trump any previous calls to this method, to {@link #ofType(Class)} or to
+     * {@link #withValuesConvertedBy(ValueConverter)}.</p>
+     *
+     * @return self, so that the caller can add clauses to the fluent interface sentence
+     */
+    public final ArgumentAcceptingOptionSpec<Integer> ofInt() {
+        return ofPrimitive( int.class );
+    }
+
+    /**
+     * <p>Specifies that arguments of this spec's option are {@code long}s.</p>
+     *
+     * <p>The arguments can then be read with {@link OptionSet#longValuesOf(OptionSpec)} and
+     * {@link OptionSet#longValueOf(OptionSpec, long)}, which parse them to primitives without boxing, as well as
+     * with the usual methods as {@link Long}s.</p>
+     *
+     * <p>Invoking this method will trump any previous calls to this method, to {@link #ofType(Class)} or to
+     * {@link #withValuesConvertedBy(ValueConverter)}.</p>
+     *
+     * @return self, so that the caller can add clauses to the fluent interface sentence
+     */
+    public final ArgumentAcceptingOptionSpec<Long> ofLong() {
+        return ofPrimitive( long.class );
+    }
+
+    /**
+     * <p>Specifies that arguments of this spec's option are {@code double}s.</p>
+     *
+     * <p>The arguments can then be read with {@link OptionSet#doubleValuesOf(OptionSpec)} and
+     * {@link OptionSet#doubleValueOf(OptionSpec, double)}, which parse them to primitives without boxing, as
+     * well as with the usual methods as {@link Double}s.</p>
+     *
+     * <p>Invoking this method will trump any previous calls to this method, to {@link #ofType(Class)} or to
+     * {@link #withValuesConvertedBy(ValueConverter)}.</p>
+     *
+     * @return self, so that the caller can add clauses to the fluent interface sentence
+     */
+    public final ArgumentAcceptingOptionSpec<Double> ofDouble() {
+        return ofPrimitive( double.class );
+    }
+
+    private <T> ArgumentAcceptingOptionSpec<T> ofPrimitive( Class<T> type ) {
+        ArgumentAcceptingOptionSpec<T> self = withValuesConvertedBy( BuiltinConverters.converterFor( type ) );
+        primitiveType = type;
+        return self;
+    }
+
     /**
      * <p>Specifies a description for the argument of the option that this spec represents.  This description is used
      * when generating help information about the parser.</p>
@@ -136,7 +202,9 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
      * @return self, so that the caller can add clauses to the fluent interface sentence
      */
     public final ArgumentAcceptingOptionSpec<V> describedAs( String description ) {
+        ensureConfigurable();
         argumentDescription = description;
+        configurationChanged();
         return this;
     }
 
@@ -162,10 +230,12 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
      * @throws IllegalArgumentException if the separator is Unicode U+0000
      */
     public final ArgumentAcceptingOptionSpec<V> withValuesSeparatedBy( char separator ) {
+        ensureConfigurable();
+
         if ( separator == NIL_VALUE_SEPARATOR )
             throw new IllegalArgumentException( "cannot use U+0000 as separator" );
 
-        valueSeparator = String.valueOf( separator );
+        valueSplitter = ValueSplitter.on( String.valueOf( separator ) );
         return this;
     }
 
@@ -184,6 +254,8 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
      *
      * <p>Then <code>options.valuesOf( "z" )</code> would yield the list {@code [foo, bar, baz, fizz, buzz]}.</p>
      *
+     * <p>Values are separated only by the whole separator, not by the single characters in it.</p>
+     *
      * <p>You cannot use Unicode U+0000 in the separator.</p>
      *
      * @param separator a string separator
@@ -191,10 +263,42 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
      * @throws IllegalArgumentException if the separator contains Unicode U+0000
      */
     public final ArgumentAcceptingOptionSpec<V> withValuesSeparatedBy( String separator ) {
+        ensureConfigurable();
+
+        if ( separator.indexOf( NIL_VALUE_SEPARATOR ) != -1 )
+            throw new IllegalArgumentException( "cannot use U+0000 in separator" );
+
+        valueSplitter = ValueSplitter.on( separator );
+        return this;
+    }
+
+    /**
+     * <p>Specifies a value separator for the argument of the option that this spec represents, along with an escape
+     * character that lets values contain the separator.  For example:</p>
+     *
+     * <pre>
+     *   <code>
+     *   parser.accepts( "z" ).withRequiredArg()
+     *       .<strong>withValuesSeparatedBy( ",", '\\' )</strong>;
+     *   OptionSet options = parser.parse( new String[] { "-z", "a\\,b,c" } );
+     *   </code>
+     * </pre>
+     *
+     * <p>Then <code>options.valuesOf( "z" )</code> would yield the list {@code [a,b, c]}. The escape character
+     * stands for itself unless it comes before the separator or before another escape character.</p>
+     *
+     * @param separator a string separator
+     * @param escape a character that makes a following separator part of a value
+     * @return self, so that the caller can add clauses to the fluent interface sentence
+     * @throws IllegalArgumentException if the separator is empty, or contains Unicode U+0000 or the escape character
+     */
+    public final ArgumentAcceptingOptionSpec<V> withValuesSeparatedBy( String separator, char escape ) {
+        ensureConfigurable();
+
         if ( separator.indexOf( NIL_VALUE_SEPARATOR ) != -1 )
             throw new IllegalArgumentException( "cannot use U+0000 in separator" );
 
-        valueSeparator = separator;
+        valueSplitter = ValueSplitter.on( separator, escape );
         return this;
     }
 
@@ -209,6 +313,7 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
      */
     @SafeVarargs
     public final ArgumentAcceptingOptionSpec<V> defaultsTo( V value, V... values ) {
+        ensureConfigurable();
         addDefaultValue( value );
         defaultsTo( values );
 
@@ -223,6 +328,7 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
      * @throws NullPointerException if {@code values} or any elements of {@code values} are {@code null}
      */
     public ArgumentAcceptingOptionSpec<V> defaultsTo( V[] values ) {
+        ensureConfigurable();
         for ( V each : values )
             addDefaultValue( each );
 
@@ -237,7 +343,9 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
      * @return self, so that the caller can add clauses to the fluent interface sentence
      */
     public ArgumentAcceptingOptionSpec<V> required() {
+        ensureConfigurable();
         optionRequired = true;
+        configurationChanged();
         return this;
     }
 
@@ -249,10 +357,11 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
     private void addDefaultValue( V value ) {
         requireNonNull( value );
         defaultValues.add( value );
+        configurationChanged();
     }
 
     @Override
-    final void handleOption( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions,
+    final void handleOption( OptionParser parser, ArgumentList arguments, DetectedOptions detectedOptions,
         String detectedArgument ) {
 
         if ( detectedArgument == null )
@@ -261,36 +370,113 @@ public abstract class ArgumentAcceptingOptionSpec<V> extends AbstractOptionSpec<
             addArguments( detectedOptions, detectedArgument );
     }
 
+    /*
+     * Parsing hands detected options to a DetectedOptions, which may be an option set's or a listener's; the protected
+     * forms taking an option set keep their long-standing signatures.
+     */
     protected void addArguments( OptionSet detectedOptions, String detectedArgument ) {
-        StringTokenizer lexer = new StringTokenizer( detectedArgument, valueSeparator );
-        if ( !lexer.hasMoreTokens() )
+        addArguments( detectedOptions.detected(), detectedArgument );
+    }
+
+    void addArguments( DetectedOptions detectedOptions, String detectedArgument ) {
+        detectedOptions.detect( this );
+        if ( valueSplitter.split( detectedArgument, value -> detectedOptions.addWithArgument( this, value ) ) == 0 )
             detectedOptions.addWithArgument( this, detectedArgument );
-        else {
-            while ( lexer.hasMoreTokens() )
-                detectedOptions.addWithArgument( this, lexer.nextToken() );
-        }
     }
 
-    protected abstract void detectOptionArgument( OptionParser parser, ArgumentList arguments,
-        OptionSet detectedOptions );
+    protected void detectOptionArgument( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions ) {
+        detectOptionArgument( parser, arguments, detectedOptions.detected() );
+    }
+
+    abstract void detectOptionArgument( OptionParser parser, ArgumentList arguments, DetectedOptions detectedOptions );
 
     @Override
     protected final V convert( String argument ) {
         return convertWith( converter, argument );
     }
 
-    protected boolean canConvertArgument( String argument ) {
-        StringTokenizer lexer = new StringTokenizer( argument, valueSeparator );
+    @Override
+    V convert( String argument, boolean writableStackTrace ) {
+        return convertWith( converter, argument, writableStackTrace );
+    }
+
+    @Override
+    Object tryConvert( String argument ) {
+        return tryConvertWith( converter, argument );
+    }
+
+    @Override
+    int intValue( String argument, boolean writableStackTrace ) {
+        if ( primitiveType != int.class )
+            return super.intValue( argument, writableStackTrace );
+        if ( !writableStackTrace && !BuiltinConverters.isIntValue( argument ) )
+            throw new OptionArgumentConversionException( this, argument, null, false );
 
         try {
-            while ( lexer.hasMoreTokens() )
-                convert( lexer.nextToken() );
-            return true;
-        } catch ( OptionException ignored ) {
-            return false;
+            return BuiltinConverters.intValueOf( argument );
+        } catch ( ReflectionException ex ) {
+            throw new OptionArgumentConversionException( this, argument, ex, writableStackTrace );
+        }
+    }
+
+    @Override
+    long longValue( String argument, boolean writableStackTrace ) {
+        if ( primitiveType != long.class )
+            return super.longValue( argument, writableStackTrace );
+        if ( !writableStackTrace && !BuiltinConverters.isLongValue( argument ) )
+            throw new OptionArgumentConversionException( this, argument, null, false );
+
+        try {
+            return BuiltinConverters.longValueOf( argument );
+        } catch ( ReflectionException ex ) {
+            throw new OptionArgumentConversionException( this, argument, ex, writableStackTrace );
+        }
+    }
+
+    @Override
+    double doubleValue( String argument, boolean writableStackTrace ) {
+        if ( primitiveType != double.class )
+            return super.doubleValue( argument, writableStackTrace );
+        if ( !writableStackTrace && !BuiltinConverters.isDoubleValue( argument ) )
+            throw new OptionArgumentConversionException( this, argument, null, false );
+
+        try {
+            return BuiltinConverters.doubleValueOf( argument );
+        } catch ( ReflectionException ex ) {
+            throw new OptionArgumentConversionException( this, argument, ex, writableStackTrace );
+        }
+    }
+
+    /*
+     * Converts the values that the given argument separates into, without raising exceptions for values that cannot
+     * be converted. Gives null if any of them cannot be.
+     */
+    @SuppressWarnings( "unchecked" )
+    List<V> tryConvertArgument( String argument ) {
+        List<Object> values = new ArrayList<>();
+        valueSplitter.split( argument, value -> values.add( tryConvert( value ) ) );
+
+        return values.contains( UNCONVERTIBLE ) ? null : (List<V>) values;
+    }
+
+    /*
+     * Adds the values that the given argument separates into, along with their already converted forms.
+     */
+    void addArguments( DetectedOptions detectedOptions, String detectedArgument, List<V> converted ) {
+        detectedOptions.detect( this );
+        if ( converted.isEmpty() )
+            detectedOptions.addWithArgument( this, detectedArgument );
+        else {
+            Iterator<V> values = converted.iterator();
+            valueSplitter.split( detectedArgument,
+                value -> detectedOptions.addWithConvertedArgument( this, value, values.next() ) );
         }
     }
 
+    protected boolean canConvertArgument( String argument ) {
+        return tryConvertArgument( argument ) != null;
+    }
+
     protected boolean isArgumentOfNumberType() {
         return converter != null && Number.class.isAssignableFrom( converter.valueType() );
     }
@@ -25,35 +25,109 @@
 
 package joptsimple;
 
+import java.util.Iterator;
+import java.util.List;
+
 import static joptsimple.ParserRules.*;
 
 /**
- * <p>Wrapper for an array of command line arguments.</p>
+ * <p>Wrapper for a sequence of command line arguments, read one at a time from an iterator.</p>
+ *
+ * <p>Also remembers whether the end of options has been detected, so that a parser holds no state of its own
+ * between calls to {@link OptionParser#parse(String...)}, and collects the problems found by
+ * {@link OptionParser#tryParse(String...)}. When {@linkplain #streamsNonOptions() streaming}, it holds the most recent
+ * non-option argument found, rather than letting the parser add it to the detected options.</p>
  *
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
 class ArgumentList {
-    private final String[] arguments;
-    private int currentIndex;
+    private final Iterator<String> arguments;
+    private final List<ParseError> errors;
+    private final boolean writableStackTraces;
+    private final boolean streamsNonOptions;
+    private String lookahead;
+    private boolean hasLookahead;
+    private String nonOption;
+    private boolean hasNonOption;
+    private boolean optionsEnded;
+
+    ArgumentList( Iterator<String> arguments, List<ParseError> errors, boolean writableStackTraces,
+        boolean streamsNonOptions ) {
 
-    ArgumentList( String... arguments ) {
-        this.arguments = arguments.clone();
+        this.arguments = arguments;
+        this.errors = errors;
+        this.writableStackTraces = writableStackTraces;
+        this.streamsNonOptions = streamsNonOptions;
     }
 
     boolean hasMore() {
-        return currentIndex < arguments.length;
+        return hasLookahead || arguments.hasNext();
     }
 
     String next() {
-        return arguments[ currentIndex++ ];
+        if ( !hasLookahead )
+            return arguments.next();
+
+        hasLookahead = false;
+        String next = lookahead;
+        lookahead = null;
+        return next;
     }
 
     String peek() {
-        return arguments[ currentIndex ];
+        if ( !hasLookahead ) {
+            lookahead = arguments.next();
+            hasLookahead = true;
+        }
+
+        return lookahead;
+    }
+
+    void noMoreOptions() {
+        optionsEnded = true;
+    }
+
+    boolean optionsEnded() {
+        return optionsEnded;
+    }
+
+    boolean collectsErrors() {
+        return errors != null;
+    }
+
+    /*
+     * Raises the given problem as an exception, unless problems are being collected.
+     */
+    void reportError( ParseError error ) {
+        if ( errors == null )
+            throw error.toException( writableStackTraces );
+
+        errors.add( error );
+    }
+
+    boolean streamsNonOptions() {
+        return streamsNonOptions;
+    }
+
+    void holdNonOption( String argument ) {
+        nonOption = argument;
+        hasNonOption = true;
+    }
+
+    boolean holdsNonOption() {
+        return hasNonOption;
+    }
+
+    String takeNonOption() {
+        String taken = nonOption;
+        nonOption = null;
+        hasNonOption = false;
+        return taken;
     }
 
     void treatNextAsLongOption() {
-        if ( HYPHEN_CHAR != arguments[ currentIndex ].charAt( 0 ) )
-            arguments[ currentIndex ] = DOUBLE_HYPHEN + arguments[ currentIndex ];
+        String next = peek();
+        if ( HYPHEN_CHAR != next.charAt( 0 ) )
+            lookahead = DOUBLE_HYPHEN + next;
     }
 }
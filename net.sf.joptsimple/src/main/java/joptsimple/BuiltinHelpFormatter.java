@@ -25,6 +25,7 @@
 
 package joptsimple;
 
+import java.io.IOException;
 import java.util.*;
 
 import joptsimple.internal.Messages;
@@ -89,6 +90,36 @@ public class BuiltinHelpFormatter implements HelpFormatter {
      */
     @Override
     public String format( Map<String, ? extends OptionDescriptor> options ) {
+        layOut( options );
+
+        return formattedHelpOutput();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>This implementation lays out and fits the rows as {@link #format(Map)} does, keeping them all, then writes
+     * them to the sink one at a time rather than concatenating them into a single string. For a subclass, it writes
+     * the result of {@link #format(Map)} instead, so that overrides of {@link #formattedHelpOutput()},
+     * {@link #nonOptionOutput()} and {@link #optionOutput()} still take effect.</p>
+     */
+    @Override
+    public void formatTo( Map<String, ? extends OptionDescriptor> options, Appendable sink ) throws IOException {
+        if ( getClass() != BuiltinHelpFormatter.class ) {
+            HelpFormatter.super.formatTo( options, sink );
+            return;
+        }
+
+        layOut( options );
+
+        if ( !nonOptionRows.isEmpty() ) {
+            nonOptionRows.render( sink );
+            sink.append( LINE_SEPARATOR );
+        }
+        optionRows.render( sink );
+    }
+
+    private void layOut( Map<String, ? extends OptionDescriptor> options ) {
         optionRows.reset();
         nonOptionRows.reset();
 
@@ -100,8 +131,6 @@ public class BuiltinHelpFormatter implements HelpFormatter {
         sorted.addAll( options.values() );
 
         addRows( sorted );
-
-        return formattedHelpOutput();
     }
 
     /**
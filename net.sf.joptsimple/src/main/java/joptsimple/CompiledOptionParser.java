@@ -0,0 +1,222 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+
+/**
+ * <p>A frozen, thread-safe form of an {@link OptionParser}, obtained from {@link OptionParser#compile()}.</p>
+ *
+ * <p>Instances keep all parse state local to each call of {@link #parse(String...)}, so one instance can be shared
+ * among any number of threads, with no locking and no need to build a parser per request, provided that the
+ * options' value converters are thread-safe:</p>
+ *
+ * <pre><code>
+ *   OptionParser parser = new OptionParser();
+ *   OptionSpec&lt;Integer&gt; count = parser.accepts( "count" ).withRequiredArg().ofType( Integer.class );
+ *   CompiledOptionParser compiled = parser.compile();
+ *
+ *   // from any thread:
+ *   OptionSet options = compiled.parse( "--count", "3" );
+ * </code></pre>
+ *
+ * <p>The {@link OptionSet}s this parser produces are not shared between calls.</p>
+ *
+ * <p>The compiled parser shares the originating parser's {@link OptionSpec}s and their
+ * {@link ValueConverter}s. Compiling freezes those specs, so calls such as
+ * {@link ArgumentAcceptingOptionSpec#required() required} or
+ * {@link ArgumentAcceptingOptionSpec#defaultsTo(Object, Object[]) defaultsTo} on them afterward raise an
+ * {@link IllegalStateException} rather than changing what the compiled parser sees. Option sets convert arguments
+ * when their values are first asked for, so the converters can run on many threads at once, and must be thread-safe
+ * for the compiled parser to be shared. A converter that holds a {@link java.text.DateFormat}, such as
+ * {@link joptsimple.util.DateConverter}, is not.</p>
+ */
+public final class CompiledOptionParser {
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final OptionParser snapshot;
+
+    CompiledOptionParser( OptionParser snapshot ) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Parses the given command line arguments according to the option specifications that the originating parser
+     * had when it was compiled.
+     *
+     * @param arguments arguments to parse
+     * @return an {@link OptionSet} describing the parsed options, their arguments, and any non-option arguments found
+     * @throws OptionException if problems are detected while parsing
+     * @throws NullPointerException if the argument list is {@code null}
+     * @see OptionParser#parse(String...)
+     */
+    public OptionSet parse( String... arguments ) {
+        return snapshot.parse( arguments );
+    }
+
+    /**
+     * Parses the given command line arguments according to the option specifications that the originating parser
+     * had when it was compiled, collecting the problems found rather than raising an exception.
+     *
+     * @param arguments arguments to parse
+     * @return the options detected, along with any problems found
+     * @throws NullPointerException if the argument list is {@code null}
+     * @see OptionParser#tryParse(String...)
+     */
+    public ParseResult tryParse( String... arguments ) {
+        return snapshot.tryParse( arguments );
+    }
+
+    /**
+     * Parses each of the given command lines as {@link #tryParse(String...)} does, spreading the work over the
+     * {@linkplain ForkJoinPool#commonPool() common fork-join pool}.
+     *
+     * @param commandLines the argument lists to parse
+     * @return the outcome of parsing each command line, in the order of the command lines
+     * @throws NullPointerException if the list or any of its argument lists is {@code null}
+     * @see #tryParseAll(List, ForkJoinPool)
+     */
+    public List<ParseResult> tryParseAll( List<String[]> commandLines ) {
+        return tryParseAll( commandLines, ForkJoinPool.commonPool() );
+    }
+
+    /**
+     * <p>Parses each of the given command lines as {@link #tryParse(String...)} does, spreading the work over the
+     * given fork-join pool.</p>
+     *
+     * <p>Each command line gets its own {@link ParseResult}, so a command line with problems does not stop the others
+     * from being parsed. This suits validating large numbers of stored command lines at once.</p>
+     *
+     * @param commandLines the argument lists to parse
+     * @param pool the pool in which to parse
+     * @return the outcome of parsing each command line, in the order of the command lines
+     * @throws NullPointerException if the list, the pool, or any of the argument lists is {@code null}
+     */
+    public List<ParseResult> tryParseAll( List<String[]> commandLines, ForkJoinPool pool ) {
+        String[][] arguments = commandLines.toArray( new String[ commandLines.size() ][] );
+        ParseResult[] results = new ParseResult[ arguments.length ];
+        int batchSize = Math.max( 1, arguments.length / ( pool.getParallelism() * TASKS_PER_THREAD ) );
+
+        pool.invoke( new BatchParse( arguments, results, 0, arguments.length, batchSize ) );
+
+        return unmodifiableList( asList( results ) );
+    }
+
+    /**
+     * Parses the given command line arguments according to the option specifications that the originating parser
+     * had when it was compiled, telling the given listener about each part as it is read.
+     *
+     * @param listener receives what the parser detects
+     * @param arguments arguments to parse
+     * @throws OptionException if problems are detected while parsing
+     * @throws NullPointerException if the listener or the argument list is {@code null}
+     * @see OptionParser#parse(OptionListener, String...)
+     */
+    public void parse( OptionListener listener, String... arguments ) {
+        snapshot.parse( listener, arguments );
+    }
+
+    /**
+     * Parses command line arguments read lazily from the given iterator, according to the option specifications that
+     * the originating parser had when it was compiled.
+     *
+     * @param arguments arguments to parse
+     * @return the parse in progress
+     * @throws OptionException if problems are detected among the arguments preceding the first non-option argument
+     * @throws NullPointerException if {@code arguments} is {@code null}
+     * @see OptionParser#parseStreaming(Iterator)
+     */
+    public StreamingParse parseStreaming( Iterator<String> arguments ) {
+        return snapshot.parseStreaming( arguments );
+    }
+
+    /**
+     * Parses command line arguments read lazily from the given stream, according to the option specifications that
+     * the originating parser had when it was compiled.
+     *
+     * @param arguments arguments to parse
+     * @return the parse in progress
+     * @throws OptionException if problems are detected among the arguments preceding the first non-option argument
+     * @throws NullPointerException if {@code arguments} is {@code null}
+     * @see OptionParser#parseStreaming(Stream)
+     */
+    public StreamingParse parseStreaming( Stream<String> arguments ) {
+        return snapshot.parseStreaming( arguments );
+    }
+
+    /**
+     * Retrieves all options-spec pairings which had been configured for the originating parser when it was compiled.
+     *
+     * @return a map containing all the configured options and their corresponding {@link OptionSpec}
+     * @see OptionParser#recognizedOptions()
+     */
+    public Map<String, AbstractOptionSpec<?>> recognizedOptions() {
+        return snapshot.recognizedOptions();
+    }
+
+    /*
+     * Parses a range of command lines, splitting it in halves until it is no larger than the batch size.
+     */
+    private final class BatchParse extends RecursiveAction {
+        private static final long serialVersionUID = -1L;
+
+        private final String[][] arguments;
+        private final ParseResult[] results;
+        private final int from;
+        private final int to;
+        private final int batchSize;
+
+        BatchParse( String[][] arguments, ParseResult[] results, int from, int to, int batchSize ) {
+            this.arguments = arguments;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected void compute() {
+            if ( to - from <= batchSize ) {
+                for ( int i = from; i < to; ++i )
+                    results[ i ] = tryParse( arguments[ i ] );
+            }
+            else {
+                int middle = ( from + to ) >>> 1;
+                invokeAll(
+                    new BatchParse( arguments, results, from, middle, batchSize ),
+                    new BatchParse( arguments, results, middle, to, batchSize ) );
+            }
+        }
+    }
+}
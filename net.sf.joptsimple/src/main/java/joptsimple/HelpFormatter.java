@@ -25,6 +25,7 @@
 
 package joptsimple;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -42,4 +43,19 @@ public interface HelpFormatter {
      * @see OptionParser#formatHelpWith(HelpFormatter)
      */
     String format( Map<String, ? extends OptionDescriptor> options );
+
+    /**
+     * <p>Writes help text, given a set of option descriptors, to the given sink.</p>
+     *
+     * <p>This default implementation writes the result of {@link #format(Map)}. Formatters that can produce their
+     * help a piece at a time may override it, so that the help need not be gathered into a single string first.</p>
+     *
+     * @param options descriptors for the configured options of a parser
+     * @param sink where to write the help text
+     * @throws IOException if the sink cannot be written to
+     * @see OptionParser#printHelpOn(java.io.Writer)
+     */
+    default void formatTo( Map<String, ? extends OptionDescriptor> options, Appendable sink ) throws IOException {
+        sink.append( format( options ) );
+    }
 }
@@ -35,8 +35,10 @@ import java.util.List;
 class MissingRequiredOptionsException extends OptionException {
     private static final long serialVersionUID = -1L;
 
-    protected MissingRequiredOptionsException( List<? extends OptionSpec<?>> missingRequiredOptions ) {
-        super( missingRequiredOptions );
+    protected MissingRequiredOptionsException( List<? extends OptionSpec<?>> missingRequiredOptions,
+        boolean writableStackTrace ) {
+
+        super( missingRequiredOptions, null, writableStackTrace );
     }
 
     @Override
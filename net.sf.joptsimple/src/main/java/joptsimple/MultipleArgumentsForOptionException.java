@@ -35,8 +35,8 @@ import static java.util.Collections.*;
 class MultipleArgumentsForOptionException extends OptionException {
     private static final long serialVersionUID = -1L;
 
-    MultipleArgumentsForOptionException( OptionSpec<?> options ) {
-        super( singleton( options ) );
+    MultipleArgumentsForOptionException( OptionSpec<?> options, boolean writableStackTrace ) {
+        super( singleton( options ), null, writableStackTrace );
     }
 
     @Override
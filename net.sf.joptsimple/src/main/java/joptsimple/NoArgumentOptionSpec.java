@@ -45,7 +45,7 @@ class NoArgumentOptionSpec extends AbstractOptionSpec<Void> {
     }
 
     @Override
-    void handleOption( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions,
+    void handleOption( OptionParser parser, ArgumentList arguments, DetectedOptions detectedOptions,
         String detectedArgument ) {
 
         detectedOptions.add( this );
@@ -31,8 +31,6 @@ import java.util.Optional;
 import static java.util.Arrays.*;
 import static java.util.Collections.*;
 
-import static joptsimple.internal.Reflection.*;
-
 /**
  * <p>Specification of a command line's non-option arguments.</p>
  *
@@ -82,6 +80,10 @@ public class NonOptionArgumentSpec<V> extends AbstractOptionSpec<V> {
      * <p>This class converts arguments using those methods in that order; that is, {@code valueOf} would be invoked
      * before a one-{@link String}-arg constructor would.</p>
      *
+     * <p>A converter {@linkplain ValueConverters#register(Class, ValueConverter) registered} for the type with this
+     * spec's parser, or one of the {@linkplain ValueConverters built-in converters} for common JDK types, is used in
+     * preference to either.</p>
+     *
      * <p>Invoking this method will trump any previous calls to this method or to
      * {@link #withValuesConvertedBy(ValueConverter)}.</p>
      *
@@ -93,7 +95,9 @@ public class NonOptionArgumentSpec<V> extends AbstractOptionSpec<V> {
      */
     @SuppressWarnings( "unchecked" )
     public <T> NonOptionArgumentSpec<T> ofType( Class<T> argumentType ) {
-        converter = (ValueConverter<V>) findConverter( argumentType );
+        ensureConfigurable();
+        converter = (ValueConverter<V>) converterFor( argumentType );
+        configurationChanged();
         return (NonOptionArgumentSpec<T>) this;
     }
 
@@ -111,10 +115,13 @@ public class NonOptionArgumentSpec<V> extends AbstractOptionSpec<V> {
      */
     @SuppressWarnings( "unchecked" )
     public final <T> NonOptionArgumentSpec<T> withValuesConvertedBy( ValueConverter<T> aConverter ) {
+        ensureConfigurable();
+
         if ( aConverter == null )
             throw new NullPointerException( "illegal null converter" );
 
         converter = (ValueConverter<V>) aConverter;
+        configurationChanged();
         return (NonOptionArgumentSpec<T>) this;
     }
 
@@ -126,7 +133,9 @@ public class NonOptionArgumentSpec<V> extends AbstractOptionSpec<V> {
      * @return self, so that the caller can add clauses to the fluent interface sentence
      */
     public NonOptionArgumentSpec<V> describedAs( String description ) {
+        ensureConfigurable();
         argumentDescription = description;
+        configurationChanged();
         return this;
     }
 
@@ -136,7 +145,17 @@ public class NonOptionArgumentSpec<V> extends AbstractOptionSpec<V> {
     }
 
     @Override
-    void handleOption( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions,
+    V convert( String argument, boolean writableStackTrace ) {
+        return convertWith( converter, argument, writableStackTrace );
+    }
+
+    @Override
+    Object tryConvert( String argument ) {
+        return tryConvertWith( converter, argument );
+    }
+
+    @Override
+    void handleOption( OptionParser parser, ArgumentList arguments, DetectedOptions detectedOptions,
         String detectedArgument ) {
 
         detectedOptions.addWithArgument( this, detectedArgument );
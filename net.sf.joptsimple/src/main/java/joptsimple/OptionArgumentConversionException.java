@@ -37,8 +37,10 @@ class OptionArgumentConversionException extends OptionException {
 
     private final String argument;
 
-    OptionArgumentConversionException( OptionSpec<?> options, String argument, Throwable cause ) {
-        super( singleton( options ), cause );
+    OptionArgumentConversionException( OptionSpec<?> options, String argument, Throwable cause,
+        boolean writableStackTrace ) {
+
+        super( singleton( options ), cause, writableStackTrace );
 
         this.argument = argument;
     }
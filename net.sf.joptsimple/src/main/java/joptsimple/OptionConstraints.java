@@ -0,0 +1,231 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.*;
+
+/**
+ * <p>The required, help, {@code requiredIf}, {@code requiredUnless}, {@code availableIf} and {@code availableUnless}
+ * rules and the {@linkplain OptionGroup option groups} of a parser, compiled against a {@link ParserSchema} into masks of option
+ * {@linkplain AbstractOptionSpec#ordinal() ordinals}.</p>
+ *
+ * <p>Checking an {@link OptionSet} against the rules then takes a few word-wide operations on its mask of detected
+ * options per rule, and creates nothing unless a rule is broken.</p>
+ */
+final class OptionConstraints {
+    private final int words;
+    private final long[] requiredMask;
+    private final List<AbstractOptionSpec<?>> requiredSpecs;
+    private final long[] helpMask;
+    private final Rule[] requiredIf;
+    private final Rule[] requiredUnless;
+    private final Rule[] availableIf;
+    private final Rule[] availableUnless;
+    private final Group[] groups;
+
+    OptionConstraints( ParserSchema schema, List<AbstractOptionSpec<?>> required, List<AbstractOptionSpec<?>> help,
+        Map<List<String>, Set<OptionSpec<?>>> requiredIf, Map<List<String>, Set<OptionSpec<?>>> requiredUnless,
+        Map<List<String>, Set<OptionSpec<?>>> availableIf, Map<List<String>, Set<OptionSpec<?>>> availableUnless,
+        List<OptionGroup> groups ) {
+
+        words = ( schema.ordinalLimit() + 63 ) >>> 6;
+        requiredMask = maskOf( schema, required );
+        requiredSpecs = required;
+        helpMask = maskOf( schema, help );
+        this.requiredIf = compile( schema, requiredIf );
+        this.requiredUnless = compile( schema, requiredUnless );
+        this.availableIf = compile( schema, availableIf );
+        this.availableUnless = compile( schema, availableUnless );
+        this.groups = new Group[ groups.size() ];
+        for ( int i = 0; i < groups.size(); ++i )
+            this.groups[ i ] = compile( schema, groups.get( i ) );
+    }
+
+    boolean isHelpOptionPresent( long[] present ) {
+        return intersects( helpMask, present );
+    }
+
+    /*
+     * Gives the options that are required, but not present, in the order the rules list them.
+     */
+    List<AbstractOptionSpec<?>> missingRequiredOptions( long[] present ) {
+        List<AbstractOptionSpec<?>> missing = null;
+
+        if ( !containsAll( present, requiredMask ) ) {
+            missing = new ArrayList<>();
+            for ( AbstractOptionSpec<?> each : requiredSpecs ) {
+                if ( !isSet( present, each.ordinal() ) )
+                    missing.add( each );
+            }
+        }
+
+        for ( Rule each : requiredIf ) {
+            if ( intersects( each.precedents, present ) && !isSet( present, each.ordinal ) )
+                missing = add( missing, each.subject );
+        }
+
+        for ( Rule each : requiredUnless ) {
+            if ( !intersects( each.precedents, present ) && !isSet( present, each.ordinal ) )
+                missing = add( missing, each.subject );
+        }
+
+        for ( Group each : groups ) {
+            if ( each.least > 0 && count( each.mask, present ) < each.least ) {
+                for ( AbstractOptionSpec<?> member : each.members )
+                    missing = add( missing, member );
+            }
+        }
+
+        return missing == null ? emptyList() : missing;
+    }
+
+    /*
+     * Gives the options that are present, but not available, in the order the rules list them.
+     */
+    List<AbstractOptionSpec<?>> unavailableOptions( long[] present ) {
+        List<AbstractOptionSpec<?>> unavailable = null;
+
+        for ( Rule each : availableIf ) {
+            if ( isSet( present, each.ordinal ) && !intersects( each.precedents, present ) )
+                unavailable = add( unavailable, each.subject );
+        }
+
+        for ( Rule each : availableUnless ) {
+            if ( isSet( present, each.ordinal ) && intersects( each.precedents, present ) )
+                unavailable = add( unavailable, each.subject );
+        }
+
+        for ( Group each : groups ) {
+            if ( count( each.mask, present ) > each.most ) {
+                for ( AbstractOptionSpec<?> member : each.members ) {
+                    if ( isSet( present, member.ordinal() ) )
+                        unavailable = add( unavailable, member );
+                }
+            }
+        }
+
+        return unavailable == null ? emptyList() : unavailable;
+    }
+
+    private Rule[] compile( ParserSchema schema, Map<List<String>, Set<OptionSpec<?>>> rules ) {
+        Rule[] compiled = new Rule[ rules.size() ];
+        int i = 0;
+        for ( Map.Entry<List<String>, Set<OptionSpec<?>>> each : rules.entrySet() ) {
+            AbstractOptionSpec<?> subject = schema.recognizedSpecs().get( each.getKey().get( 0 ) );
+            compiled[ i++ ] = new Rule( subject, schema.ordinalOf( subject ), maskOf( schema, each.getValue() ) );
+        }
+
+        return compiled;
+    }
+
+    private Group compile( ParserSchema schema, OptionGroup group ) {
+        List<AbstractOptionSpec<?>> members = new ArrayList<>( group.members().size() );
+        for ( List<String> each : group.members() )
+            members.add( schema.recognizedSpecs().get( each.get( 0 ) ) );
+
+        return new Group( members.toArray( new AbstractOptionSpec<?>[ 0 ] ), maskOf( schema, members ), group.least(),
+            group.most() );
+    }
+
+    private long[] maskOf( ParserSchema schema, Collection<? extends OptionSpec<?>> specs ) {
+        long[] mask = new long[ words ];
+        for ( OptionSpec<?> each : specs ) {
+            int ordinal = schema.ordinalOf( each );
+            if ( ordinal >= 0 )
+                mask[ ordinal >>> 6 ] |= 1L << ordinal;
+        }
+
+        return mask;
+    }
+
+    private static List<AbstractOptionSpec<?>> add( List<AbstractOptionSpec<?>> specs, AbstractOptionSpec<?> spec ) {
+        List<AbstractOptionSpec<?>> added = specs == null ? new ArrayList<>() : specs;
+        added.add( spec );
+        return added;
+    }
+
+    private static boolean isSet( long[] present, int ordinal ) {
+        return ordinal >= 0 && ( present[ ordinal >>> 6 ] & ( 1L << ordinal ) ) != 0;
+    }
+
+    private static boolean intersects( long[] mask, long[] present ) {
+        for ( int i = 0; i < mask.length; ++i ) {
+            if ( ( mask[ i ] & present[ i ] ) != 0 )
+                return true;
+        }
+
+        return false;
+    }
+
+    private static int count( long[] mask, long[] present ) {
+        int count = 0;
+        for ( int i = 0; i < mask.length; ++i )
+            count += Long.bitCount( mask[ i ] & present[ i ] );
+
+        return count;
+    }
+
+    private static boolean containsAll( long[] present, long[] mask ) {
+        for ( int i = 0; i < mask.length; ++i ) {
+            if ( ( present[ i ] & mask[ i ] ) != mask[ i ] )
+                return false;
+        }
+
+        return true;
+    }
+
+    private static final class Rule {
+        final AbstractOptionSpec<?> subject;
+        final int ordinal;
+        final long[] precedents;
+
+        Rule( AbstractOptionSpec<?> subject, int ordinal, long[] precedents ) {
+            this.subject = subject;
+            this.ordinal = ordinal;
+            this.precedents = precedents;
+        }
+    }
+
+    private static final class Group {
+        final AbstractOptionSpec<?>[] members;
+        final long[] mask;
+        final int least;
+        final int most;
+
+        Group( AbstractOptionSpec<?>[] members, long[] mask, int least, int most ) {
+            this.members = members;
+            this.mask = mask;
+            this.least = least;
+            this.most = most;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+/**
+ * Hands what a parser detects straight on to an {@link OptionListener}, keeping none of it.
+ */
+class OptionEvents extends DetectedOptions {
+    private final OptionListener listener;
+
+    OptionEvents( OptionListener listener ) {
+        this.listener = listener;
+    }
+
+    @Override
+    void detect( AbstractOptionSpec<?> spec ) {
+        listener.option( spec );
+    }
+
+    @Override
+    void add( AbstractOptionSpec<?> spec ) {
+        listener.option( spec );
+    }
+
+    @Override
+    void addWithArgument( AbstractOptionSpec<?> spec, String argument ) {
+        if ( spec instanceof NonOptionArgumentSpec<?> )
+            listener.nonOptionArgument( argument );
+        else
+            listener.optionArgument( spec, argument );
+    }
+
+    @Override
+    void addWithConvertedArgument( AbstractOptionSpec<?> spec, String argument, Object converted ) {
+        listener.optionArgument( spec, argument );
+    }
+
+    @Override
+    void optionsEnded() {
+        listener.optionsEnded();
+    }
+}
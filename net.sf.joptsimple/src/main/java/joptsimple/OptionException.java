@@ -26,11 +26,13 @@
 package joptsimple;
 
 import java.util.ArrayList;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 import static java.util.Collections.*;
@@ -47,11 +49,21 @@ public abstract class OptionException extends RuntimeException {
     private static final long serialVersionUID = -1L;
 
     private final List<String> options = new ArrayList<>();
+    private transient volatile String message;
+    private transient volatile Map.Entry<Locale, String> localizedMessage;
 
     protected OptionException( List<String> options ) {
         this.options.addAll( options );
     }
 
+    /*
+     * Without a writable stack trace, the exception records none, which makes it far cheaper to create.
+     */
+    OptionException( List<String> options, boolean writableStackTrace ) {
+        super( null, null, true, writableStackTrace );
+        this.options.addAll( options );
+    }
+
     protected OptionException( Collection<? extends OptionSpec<?>> options ) {
         this.options.addAll( specsToStrings( options ) );
     }
@@ -61,14 +73,19 @@ public abstract class OptionException extends RuntimeException {
         this.options.addAll( specsToStrings( options ) );
     }
 
-    private List<String> specsToStrings( Collection<? extends OptionSpec<?>> options ) {
+    OptionException( Collection<? extends OptionSpec<?>> options, Throwable cause, boolean writableStackTrace ) {
+        super( null, cause, true, writableStackTrace );
+        this.options.addAll( specsToStrings( options ) );
+    }
+
+    static List<String> specsToStrings( Collection<? extends OptionSpec<?>> options ) {
         List<String> strings = new ArrayList<>();
         for ( OptionSpec<?> each : options )
             strings.add( specToString( each ) );
         return strings;
     }
 
-    private String specToString( OptionSpec<?> option ) {
+    private static String specToString( OptionSpec<?> option ) {
         return option.options().stream().collect( joining( "/" ) );
     }
 
@@ -90,11 +107,15 @@ public abstract class OptionException extends RuntimeException {
     }
 
     protected final String multipleOptionString() {
+        return multipleOptionString( options );
+    }
+
+    static String multipleOptionString( List<String> options ) {
         StringBuilder buffer = new StringBuilder( "[" );
 
         Set<String> asSet = new LinkedHashSet<String>( options );
         for ( Iterator<String> iter = asSet.iterator(); iter.hasNext(); ) {
-            buffer.append( singleOptionString(iter.next()) );
+            buffer.append( iter.next() );
             if ( iter.hasNext() )
                 buffer.append( ", " );
         }
@@ -104,13 +125,22 @@ public abstract class OptionException extends RuntimeException {
         return buffer.toString();
     }
 
-    static OptionException unrecognizedOption( String option ) {
-        return new UnrecognizedOptionException( option );
+    static OptionException unrecognizedOption( String option, boolean writableStackTrace ) {
+        return new UnrecognizedOptionException( option, writableStackTrace );
     }
 
+    /*
+     * Messages are formatted when first asked for, and kept; the English one and the last localized one.
+     */
     @Override
     public final String getMessage() {
-        return localizedMessage( Locale.ENGLISH );
+        String current = message;
+        if ( current == null ) {
+            current = formattedMessage( Locale.ENGLISH );
+            message = current;
+        }
+
+        return current;
     }
 
     @Override
@@ -119,7 +149,16 @@ public abstract class OptionException extends RuntimeException {
     }
 
     final String localizedMessage( Locale locale ) {
-        return formattedMessage( locale );
+        if ( Locale.ENGLISH.equals( locale ) )
+            return getMessage();
+
+        Map.Entry<Locale, String> current = localizedMessage;
+        if ( current == null || !current.getKey().equals( locale ) ) {
+            current = new SimpleImmutableEntry<>( locale, formattedMessage( locale ) );
+            localizedMessage = current;
+        }
+
+        return current.getValue();
     }
 
     private String formattedMessage( Locale locale ) {
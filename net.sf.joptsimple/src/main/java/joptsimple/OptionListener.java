@@ -0,0 +1,68 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+/**
+ * <p>Receives the parts of a command line as {@link OptionParser#parse(OptionListener, String...)} reads them.</p>
+ *
+ * <p>The parser keeps nothing it reports, and builds no {@link OptionSet}; arguments are reported as the strings
+ * given on the command line, unconverted. Each method does nothing by default, so implementations need override
+ * only the events they care about.</p>
+ */
+public interface OptionListener {
+    /**
+     * Called for each occurrence of an option, before any of its arguments.
+     *
+     * @param option the option detected
+     */
+    default void option( OptionSpec<?> option ) {
+    }
+
+    /**
+     * Called for each argument of an option, after the option itself. An argument holding
+     * {@linkplain ArgumentAcceptingOptionSpec#withValuesSeparatedBy(String) separated values} is reported once for
+     * each value.
+     *
+     * @param option the option the argument belongs to
+     * @param argument the argument
+     */
+    default void optionArgument( OptionSpec<?> option, String argument ) {
+    }
+
+    /**
+     * Called for each non-option argument.
+     *
+     * @param argument the argument
+     */
+    default void nonOptionArgument( String argument ) {
+    }
+
+    /**
+     * Called when the option terminator {@code "--"} is read; every argument after it is a non-option argument.
+     */
+    default void optionsEnded() {
+    }
+}
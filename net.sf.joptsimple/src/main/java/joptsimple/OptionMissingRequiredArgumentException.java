@@ -35,8 +35,8 @@ import static java.util.Collections.*;
 class OptionMissingRequiredArgumentException extends OptionException {
     private static final long serialVersionUID = -1L;
 
-    OptionMissingRequiredArgumentException( OptionSpec<?> option ) {
-        super( singletonList( option ) );
+    OptionMissingRequiredArgumentException( OptionSpec<?> option, boolean writableStackTrace ) {
+        super( singletonList( option ), null, writableStackTrace );
     }
 
     @Override
@@ -31,14 +31,15 @@ import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.stream.Stream;
 
 import joptsimple.internal.AbbreviationMap;
+import joptsimple.internal.CompactOptionNameMap;
 import joptsimple.internal.SimpleOptionNameMap;
 import joptsimple.internal.OptionNameMap;
-import joptsimple.util.KeyValuePair;
 
 import static java.util.Collections.*;
-import static joptsimple.OptionException.*;
+import static java.util.Objects.*;
 import static joptsimple.OptionParserState.*;
 import static joptsimple.ParserRules.*;
 
@@ -197,11 +198,20 @@ public class OptionParser implements OptionDeclarer {
     private final Map<List<String>, Set<OptionSpec<?>>> requiredUnless;
     private final Map<List<String>, Set<OptionSpec<?>>> availableIf;
     private final Map<List<String>, Set<OptionSpec<?>>> availableUnless;
+    private final List<OptionGroup> groups;
+    private final boolean allowAbbreviations;
+    private final boolean compactOptionNames;
 
-    private OptionParserState state;
     private boolean posixlyCorrect;
+    private boolean convertsArgumentsEagerly;
     private boolean allowsUnrecognizedOptions;
+    private boolean raisesStacklessExceptions;
     private HelpFormatter helpFormatter = new BuiltinHelpFormatter();
+    private final ValueConverters valueConverters;
+    private final Map<List<String>, Integer> ordinals;
+    private int optionsVersion;
+    private volatile ParserSchema cachedSchema;
+    private volatile RenderedHelp renderedHelp;
 
     /**
      * Creates an option parser that initially recognizes no options, and does not exhibit "POSIX-ly correct"
@@ -219,20 +229,62 @@ public class OptionParser implements OptionDeclarer {
      * by the parser
      */
     public OptionParser( boolean allowAbbreviations ) {
+        this( allowAbbreviations, false );
+    }
+
+    /**
+     * Creates an option parser that initially recognizes no options, and does not exhibit "POSIX-ly correct"
+     * behavior.
+     *
+     * <p>A parser with compact option names keeps the names of its options in a few flat arrays, rather than in a
+     * tree with a node per character, and looks them up without creating any objects. This suits parsers that
+     * recognize thousands of options. The arrays are rebuilt at the first parse after options are added.</p>
+     *
+     * @param allowAbbreviations whether unambiguous abbreviations of long options should be recognized
+     * by the parser
+     * @param compactOptionNames whether the parser should store option names compactly
+     */
+    public OptionParser( boolean allowAbbreviations, boolean compactOptionNames ) {
         trainingOrder = new ArrayList<>();
         requiredIf = new HashMap<>();
         requiredUnless = new HashMap<>();
         availableIf = new HashMap<>();
         availableUnless = new HashMap<>();
-        state = moreOptions( false );
-
-        recognizedOptions = allowAbbreviations
-            ? new AbbreviationMap<>()
-            : new SimpleOptionNameMap<>();
+        groups = new ArrayList<>();
+        ordinals = new HashMap<>();
+        valueConverters = new ValueConverters();
+        this.allowAbbreviations = allowAbbreviations;
+        this.compactOptionNames = compactOptionNames;
+        recognizedOptions = newOptionNameMap( allowAbbreviations, compactOptionNames );
 
         recognize( new NonOptionArgumentSpec<String>() );
     }
 
+    /*
+     * Copies the configuration of the given parser, so that later changes to either parser do not affect the other.
+     */
+    private OptionParser( OptionParser original ) {
+        trainingOrder = new ArrayList<>( original.trainingOrder );
+        requiredIf = copyOf( original.requiredIf );
+        requiredUnless = copyOf( original.requiredUnless );
+        availableIf = copyOf( original.availableIf );
+        availableUnless = copyOf( original.availableUnless );
+        groups = new ArrayList<>( original.groups );
+        allowAbbreviations = original.allowAbbreviations;
+        compactOptionNames = original.compactOptionNames;
+        recognizedOptions = newOptionNameMap( allowAbbreviations, compactOptionNames );
+        for ( Map.Entry<String, AbstractOptionSpec<?>> each : original.recognizedOptions.toJavaUtilMap().entrySet() )
+            recognizedOptions.put( each.getKey(), each.getValue() );
+        ordinals = new HashMap<>( original.ordinals );
+        valueConverters = new ValueConverters( original.valueConverters );
+
+        posixlyCorrect = original.posixlyCorrect;
+        convertsArgumentsEagerly = original.convertsArgumentsEagerly;
+        allowsUnrecognizedOptions = original.allowsUnrecognizedOptions;
+        raisesStacklessExceptions = original.raisesStacklessExceptions;
+        helpFormatter = original.helpFormatter;
+    }
+
     /**
      * Creates an option parser and configures it to recognize the short options specified in the given string.
      *
@@ -295,33 +347,87 @@ public class OptionParser implements OptionDeclarer {
     @Override
     public void posixlyCorrect( boolean setting ) {
         posixlyCorrect = setting;
-        state = moreOptions( setting );
     }
 
     boolean posixlyCorrect() {
         return posixlyCorrect;
     }
 
+    /**
+     * <p>Tells whether the parser should convert the arguments of detected options to the options' types while
+     * parsing, rather than when they are first asked for from the resulting {@link OptionSet}.</p>
+     *
+     * <p>With this setting, {@link #parse(String...)} raises an {@link OptionException} as soon as any argument cannot
+     * be converted, and reads from the option set do no conversion work at all. This setting is off by default.</p>
+     *
+     * @param setting whether to convert option arguments while parsing
+     */
+    public void convertsArgumentsEagerly( boolean setting ) {
+        convertsArgumentsEagerly = setting;
+    }
+
+    /**
+     * <p>Tells whether the parser should raise {@link OptionException}s that record no stack trace.</p>
+     *
+     * <p>Filling in the stack trace is most of the cost of creating an exception, so this setting suits services that
+     * turn away bad command lines at a high rate. The exceptions are otherwise unchanged, so code that catches them
+     * need not change, except that an exception for an argument that cannot be converted carries no cause: the
+     * argument is checked rather than converted, and built-in converters check it without creating any exception.
+     * The setting covers exceptions raised by {@link #parse(String...)} and by reads from the {@link OptionSet}s it
+     * gives. It is off by default.</p>
+     *
+     * @param setting whether to raise exceptions without stack traces
+     */
+    public void raisesStacklessExceptions( boolean setting ) {
+        raisesStacklessExceptions = setting;
+    }
+
     @Override
     public void allowsUnrecognizedOptions() {
         allowsUnrecognizedOptions = true;
     }
 
-    boolean doesAllowsUnrecognizedOptions() {
-        return allowsUnrecognizedOptions;
-    }
-
     @Override
     public void recognizeAlternativeLongOptions( boolean recognize ) {
         if ( recognize )
             recognize( new AlternativeLongOptionSpec() );
-        else
+        else {
             recognizedOptions.remove( RESERVED_FOR_EXTENSIONS );
+            optionsChanged();
+        }
     }
 
     void recognize( AbstractOptionSpec<?> spec ) {
+        // a spec with the same options as an earlier one replaces it, and so takes its ordinal
+        Integer ordinal = ordinals.get( spec.options() );
+        if ( ordinal == null ) {
+            ordinal = ordinals.size();
+            ordinals.put( spec.options(), ordinal );
+        }
+
         recognizedOptions.putAll( spec.options(), spec );
         trainingOrder.add( spec );
+        spec.recognizedBy( this, ordinal );
+        optionsChanged();
+    }
+
+    /*
+     * Called whenever the set of recognized options, the configuration of one of them, or the rules that make them
+     * required or available, changes.
+     */
+    void optionsChanged() {
+        ++optionsVersion;
+    }
+
+    ParserSchema schema() {
+        ParserSchema current = cachedSchema;
+        if ( current == null || current.version() != optionsVersion ) {
+            current = new ParserSchema( optionsVersion, recognizedOptions, ordinals.size(), requiredIf, requiredUnless,
+                availableIf, availableUnless, groups );
+            cachedSchema = current;
+        }
+
+        return current;
     }
 
     /**
@@ -339,9 +445,13 @@ public class OptionParser implements OptionDeclarer {
     }
 
     /**
-     * Writes information about the options this parser recognizes to the given output sink.
+     * <p>Writes information about the options this parser recognizes to the given output sink.</p>
      *
-     * The output sink is flushed, but not closed.
+     * <p>The output sink is flushed, but not closed.</p>
+     *
+     * <p>The help is written as the {@linkplain HelpFormatter#formatTo(Map, Appendable) formatter produces it}. When
+     * the parser uses a {@link BuiltinHelpFormatter}, it also keeps help text of moderate size, and writes it again
+     * without formatting it anew until the options, the formatter or the default locale change.</p>
      *
      * @param sink the sink to write information to
      * @throws IOException if there is a problem writing to the sink
@@ -349,10 +459,42 @@ public class OptionParser implements OptionDeclarer {
      * @see #printHelpOn(OutputStream)
      */
     public void printHelpOn( Writer sink ) throws IOException {
-        sink.write( helpFormatter.format( _recognizedOptions() ) );
+        writeHelp( sink );
         sink.flush();
     }
 
+    private void writeHelp( Writer sink ) throws IOException {
+        HelpFormatter formatter = helpFormatter;
+        if ( formatter.getClass() != BuiltinHelpFormatter.class ) {
+            formatter.formatTo( _recognizedOptions(), sink );
+            return;
+        }
+
+        Locale locale = Locale.getDefault();
+        int version = optionsVersion;
+        RenderedHelp current = renderedHelp;
+        if ( current != null && current.isFor( formatter, locale, version ) ) {
+            sink.write( current.text );
+            return;
+        }
+
+        HelpCapture capture = new HelpCapture( sink );
+        formatter.formatTo( _recognizedOptions(), capture );
+        if ( capture.captured() != null )
+            renderedHelp = new RenderedHelp( formatter, locale, version, capture.captured() );
+    }
+
+    /**
+     * Gives the converters that this parser's options use for the types given to
+     * {@link ArgumentAcceptingOptionSpec#ofType(Class) ofType}. Converters registered there apply to this parser's
+     * options alone, and not to those of any other parser.
+     *
+     * @return this parser's value converters
+     */
+    public ValueConverters valueConverters() {
+        return valueConverters;
+    }
+
     /**
      * Tells the parser to use the given formatter when asked to {@linkplain #printHelpOn(java.io.Writer) print help}.
      *
@@ -390,7 +532,11 @@ public class OptionParser implements OptionDeclarer {
     }
 
     /**
-     * Parses the given command line arguments according to the option specifications given to the parser.
+     * <p>Parses the given command line arguments according to the option specifications given to the parser.</p>
+     *
+     * <p>The parser keeps no state between calls to this method, so once the parser is fully configured, it is safe
+     * to call this method from many threads at once. If other threads might still configure the parser, use
+     * {@link #compile()} instead.</p>
      *
      * @param arguments arguments to parse
      * @return an {@link OptionSet} describing the parsed options, their arguments, and any non-option arguments found
@@ -398,164 +544,289 @@ public class OptionParser implements OptionDeclarer {
      * @throws NullPointerException if the argument list is {@code null}
      */
     public OptionSet parse( String... arguments ) {
-        ArgumentList argumentList = new ArgumentList( arguments );
-        OptionSet detected = new OptionSet( recognizedOptions.toJavaUtilMap() );
-        detected.add( recognizedOptions.get( NonOptionArgumentSpec.NAME ) );
-
-        while ( argumentList.hasMore() )
-            state.handleArgument( this, argumentList, detected );
+        return parse(
+            new ArgumentList( Arrays.asList( arguments ).iterator(), null, !raisesStacklessExceptions, false ) );
+    }
 
-        reset();
+    /**
+     * <p>Parses the given command line arguments as {@link #parse(String...)} does, but collects the problems it
+     * finds rather than raising an exception for the first of them.</p>
+     *
+     * <p>Parsing carries on past an unrecognized option or an option missing its argument, leaving the offending
+     * argument out of the detected options. The arguments of detected options are converted to the options' types,
+     * as if the parser {@linkplain #convertsArgumentsEagerly(boolean) converted arguments eagerly}, and each argument
+     * that cannot be converted is reported. An argument that its option's converter turns into {@code null} is
+     * accepted, as {@link #parse(String...)} accepts it. Missing required options and unavailable options are
+     * reported last.</p>
+     *
+     * <p>No exception is raised for any of these problems, and none is created for unrecognized options, missing
+     * arguments, missing required or unavailable options, or arguments that a built-in converter rejects, so this
+     * method suits validating many command lines that are likely to contain mistakes. A converter that does not
+     * override {@link ValueConverter#tryConvert(String, java.util.function.Consumer) tryConvert}, such as one
+     * given to {@link ArgumentAcceptingOptionSpec#withValuesConvertedBy(ValueConverter) withValuesConvertedBy}, or
+     * the converter that {@link ArgumentAcceptingOptionSpec#ofType(Class) ofType} finds by reflection for a type
+     * with no built-in converter, still builds and catches an exception for each argument it rejects.</p>
+     *
+     * @param arguments arguments to parse
+     * @return the options detected, along with any problems found
+     * @throws NullPointerException if the argument list is {@code null}
+     */
+    public ParseResult tryParse( String... arguments ) {
+        List<ParseError> errors = new ArrayList<>();
+        OptionSet detected = parse(
+            new ArgumentList( Arrays.asList( arguments ).iterator(), errors, !raisesStacklessExceptions, false ) );
 
-        ensureRequiredOptions( detected );
-        ensureAllowedOptions( detected );
+        return new ParseResult( detected, errors );
+    }
 
-        return detected;
+    /**
+     * <p>Parses command line arguments read lazily from the given iterator, handing back the non-option arguments as a
+     * stream rather than collecting them.</p>
+     *
+     * <p>Arguments are read only as far as needed: up to the first non-option argument before this method returns,
+     * and the rest as the {@linkplain StreamingParse#nonOptionArguments() non-option arguments} are consumed. Only
+     * the detected options and their arguments are kept, so this method suits argument lists too long to hold in
+     * memory, such as file names piped in from another program.</p>
+     *
+     * @param arguments arguments to parse
+     * @return the parse in progress
+     * @throws OptionException if problems are detected among the arguments preceding the first non-option argument
+     * @throws NullPointerException if {@code arguments} is {@code null}
+     */
+    public StreamingParse parseStreaming( Iterator<String> arguments ) {
+        ArgumentList argumentList = new ArgumentList( arguments, null, !raisesStacklessExceptions, true );
+        return new StreamingParse( this, schema(), argumentList );
     }
 
     /**
-     * Mandates mutual exclusiveness for the options built by the specified builders.
+     * Parses command line arguments read lazily from the given stream, as {@link #parseStreaming(Iterator)} does.
      *
-     * @param specs descriptors for options that should be mutually exclusive on a command line.
-     * @throws NullPointerException if {@code specs} is {@code null}
+     * @param arguments arguments to parse
+     * @return the parse in progress
+     * @throws OptionException if problems are detected among the arguments preceding the first non-option argument
+     * @throws NullPointerException if {@code arguments} is {@code null}
      */
-    public void mutuallyExclusive( OptionSpecBuilder... specs ) {
-        for ( int i = 0; i < specs.length; i++ ) {
-            for ( int j = 0; j < specs.length; j++ ) {
-                if ( i != j )
-                    specs[i].availableUnless( specs[j] );
-            }
-        }
+    public StreamingParse parseStreaming( Stream<String> arguments ) {
+        return parseStreaming( arguments.iterator() );
     }
 
-    private void ensureRequiredOptions( OptionSet options ) {
-        List<AbstractOptionSpec<?>> missingRequiredOptions = missingRequiredOptions(options);
-        boolean helpOptionPresent = isHelpOptionPresent( options );
+    /**
+     * <p>Parses the given command line arguments, telling the given listener about each option, option argument,
+     * non-option argument and option terminator as it is read.</p>
+     *
+     * <p>No {@link OptionSet} is built, and nothing read is kept once the listener has been told of it. Hence option
+     * arguments are not converted, and the parser does not check for missing required options or unavailable
+     * options; it still raises an exception for an unrecognized option or an option missing its argument.</p>
+     *
+     * @param listener receives what the parser detects
+     * @param arguments arguments to parse
+     * @throws OptionException if problems are detected while parsing
+     * @throws NullPointerException if the listener or the argument list is {@code null}
+     */
+    public void parse( OptionListener listener, String... arguments ) {
+        OptionEvents events = new OptionEvents( requireNonNull( listener ) );
+        ArgumentList argumentList =
+            new ArgumentList( Arrays.asList( arguments ).iterator(), null, !raisesStacklessExceptions, false );
+        ParserSchema schema = schema();
 
-        if ( !missingRequiredOptions.isEmpty() && !helpOptionPresent )
-            throw new MissingRequiredOptionsException( missingRequiredOptions );
+        while ( argumentList.hasMore() )
+            handleArgument( argumentList, events, schema );
     }
 
-    private void ensureAllowedOptions( OptionSet options ) {
-        List<AbstractOptionSpec<?>> forbiddenOptions = unavailableOptions( options );
-        boolean helpOptionPresent = isHelpOptionPresent( options );
+    private OptionSet parse( ArgumentList argumentList ) {
+        ParserSchema schema = schema();
+        OptionSet detected = newOptionSet( schema );
+
+        while ( argumentList.hasMore() )
+            handleArgument( argumentList, detected.detected(), schema );
 
-        if ( !forbiddenOptions.isEmpty() && !helpOptionPresent )
-            throw new UnavailableOptionException( forbiddenOptions );
+        finishParse( argumentList, detected, schema );
+        return detected;
     }
 
-    private List<AbstractOptionSpec<?>> missingRequiredOptions( OptionSet options ) {
-        List<AbstractOptionSpec<?>> missingRequiredOptions = new ArrayList<>();
+    OptionSet newOptionSet( ParserSchema schema ) {
+        OptionSet detected = new OptionSet( schema, !raisesStacklessExceptions );
+        detected.add( schema.nonOptionsSpec() );
+        return detected;
+    }
 
-        for ( AbstractOptionSpec<?> each : recognizedOptions.toJavaUtilMap().values() ) {
-            if ( each.isRequired() && !options.has( each ) )
-                missingRequiredOptions.add(each);
-        }
+    /*
+     * Handles the next argument against the given schema, which a parse takes once rather than for each argument.
+     */
+    void handleArgument( ArgumentList argumentList, DetectedOptions detected, ParserSchema schema ) {
+        stateOf( argumentList ).handleArgument( this, argumentList, detected, schema );
+    }
 
-        for ( Map.Entry<List<String>, Set<OptionSpec<?>>> each : requiredIf.entrySet() ) {
-            AbstractOptionSpec<?> required = specFor( each.getKey().iterator().next() );
+    /*
+     * Checks the detected options once all arguments have been read, converting their arguments if asked to.
+     */
+    void finishParse( ArgumentList argumentList, OptionSet detected, ParserSchema schema ) {
+        if ( argumentList.collectsErrors() )
+            detected.tryConvertArguments( argumentList::reportError );
 
-            if ( optionsHasAnyOf( options, each.getValue() ) && !options.has( required ) )
-                missingRequiredOptions.add( required );
-        }
+        ensureRequiredOptions( detected, schema, argumentList );
+        ensureAllowedOptions( detected, schema, argumentList );
 
-        for ( Map.Entry<List<String>, Set<OptionSpec<?>>> each : requiredUnless.entrySet() ) {
-            AbstractOptionSpec<?> required = specFor(each.getKey().iterator().next());
+        if ( convertsArgumentsEagerly && !argumentList.collectsErrors() )
+            detected.convertArguments();
+    }
 
-            if ( !optionsHasAnyOf( options, each.getValue() ) && !options.has( required ) )
-                missingRequiredOptions.add( required );
-        }
+    /**
+     * <p>Gives an immutable snapshot of this parser's current configuration.</p>
+     *
+     * <p>The snapshot keeps its parse state per call, so a single instance can serve
+     * {@link CompiledOptionParser#parse(String...) parse} calls from any number of threads without locking.
+     * Options recognized by this parser after the snapshot is taken, and changes to this parser's settings, do not
+     * affect the snapshot.</p>
+     *
+     * <p>The snapshot shares this parser's {@link OptionSpec}s, so compiling freezes them: configuring one of them
+     * afterward, for instance with {@link ArgumentAcceptingOptionSpec#required() required} or
+     * {@link ArgumentAcceptingOptionSpec#defaultsTo(Object, Object[]) defaultsTo}, raises an
+     * {@link IllegalStateException}. Options this parser recognizes afterward, including ones that replace frozen
+     * ones, can be configured as usual. The snapshot runs the specs' {@link ValueConverter}s from any thread that
+     * reads its option sets, so it is safe to share only if those converters are thread-safe.</p>
+     *
+     * @return a compiled form of this parser
+     */
+    public CompiledOptionParser compile() {
+        OptionParser snapshot = new OptionParser( this );
+        for ( AbstractOptionSpec<?> each : snapshot.schema().specs() )
+            each.compiled();
 
-        return missingRequiredOptions;
+        return new CompiledOptionParser( snapshot );
     }
 
-    private List<AbstractOptionSpec<?>> unavailableOptions(OptionSet options) {
-        List<AbstractOptionSpec<?>> unavailableOptions = new ArrayList<>();
-
-        for ( Map.Entry<List<String>, Set<OptionSpec<?>>> eachEntry : availableIf.entrySet() ) {
-            AbstractOptionSpec<?> forbidden = specFor( eachEntry.getKey().iterator().next() );
+    /**
+     * <p>Mandates mutual exclusiveness for the options built by the specified builders: at most one of them may appear
+     * on a command line.</p>
+     *
+     * <p>If more than one of them appears, parsing reports each of those present as unavailable.</p>
+     *
+     * @param specs descriptors for options that should be mutually exclusive on a command line.
+     * @throws NullPointerException if {@code specs} is {@code null}
+     * @throws OptionException if any of the options haven't been configured in the parser
+     */
+    public void mutuallyExclusive( OptionSpecBuilder... specs ) {
+        addGroup( specs, 0, 1 );
+    }
 
-            if ( !optionsHasAnyOf( options, eachEntry.getValue() ) && options.has( forbidden ) ) {
-                unavailableOptions.add(forbidden);
-            }
-        }
+    /**
+     * <p>Mandates that exactly one of the options built by the specified builders appear on a command line.</p>
+     *
+     * <p>If none of them appears, parsing reports them all as missing required options; if more than one of them
+     * appears, parsing reports each of those present as unavailable.</p>
+     *
+     * @param specs descriptors for options of which a command line must contain exactly one
+     * @throws NullPointerException if {@code specs} is {@code null}
+     * @throws OptionException if any of the options haven't been configured in the parser
+     */
+    public void exactlyOneOf( OptionSpecBuilder... specs ) {
+        addGroup( specs, 1, 1 );
+    }
 
-        for ( Map.Entry<List<String>, Set<OptionSpec<?>>> eachEntry : availableUnless.entrySet() ) {
-            AbstractOptionSpec<?> forbidden = specFor( eachEntry.getKey().iterator().next() );
+    /**
+     * <p>Mandates that at least one of the options built by the specified builders appear on a command line.</p>
+     *
+     * <p>If none of them appears, parsing reports them all as missing required options.</p>
+     *
+     * @param specs descriptors for options of which a command line must contain at least one
+     * @throws NullPointerException if {@code specs} is {@code null}
+     * @throws OptionException if any of the options haven't been configured in the parser
+     */
+    public void atLeastOneOf( OptionSpecBuilder... specs ) {
+        addGroup( specs, 1, Integer.MAX_VALUE );
+    }
 
-            if ( optionsHasAnyOf( options, eachEntry.getValue() ) && options.has( forbidden ) ) {
-                unavailableOptions.add(forbidden);
+    private void addGroup( OptionSpecBuilder[] specs, int least, int most ) {
+        for ( OptionSpecBuilder each : specs ) {
+            for ( String option : each.options() ) {
+                if ( specFor( option ) == null )
+                    throw new UnconfiguredOptionException( each.options() );
             }
         }
 
-        return unavailableOptions;
+        groups.add( new OptionGroup( specs, least, most ) );
+        optionsChanged();
     }
 
-    private boolean optionsHasAnyOf( OptionSet options, Collection<OptionSpec<?>> specs ) {
-        for ( OptionSpec<?> each : specs ) {
-            if ( options.has( each ) )
-                return true;
-        }
+    private void ensureRequiredOptions( OptionSet options, ParserSchema schema, ArgumentList arguments ) {
+        OptionConstraints constraints = schema.constraints();
+        List<AbstractOptionSpec<?>> missingRequiredOptions = constraints.missingRequiredOptions( options.presence() );
 
-        return false;
+        if ( !missingRequiredOptions.isEmpty() && !constraints.isHelpOptionPresent( options.presence() ) )
+            arguments.reportError( ParseError.missingRequiredOptions( missingRequiredOptions ) );
     }
 
-    private boolean isHelpOptionPresent( OptionSet options ) {
-        boolean helpOptionPresent = false;
+    private void ensureAllowedOptions( OptionSet options, ParserSchema schema, ArgumentList arguments ) {
+        OptionConstraints constraints = schema.constraints();
+        List<AbstractOptionSpec<?>> forbiddenOptions = constraints.unavailableOptions( options.presence() );
 
-        for ( AbstractOptionSpec<?> each : recognizedOptions.toJavaUtilMap().values() ) {
-            if ( each.isForHelp() && options.has( each ) ) {
-                helpOptionPresent = true;
-                break;
-            }
-        }
-
-        return helpOptionPresent;
+        if ( !forbiddenOptions.isEmpty() && !constraints.isHelpOptionPresent( options.presence() ) )
+            arguments.reportError( ParseError.unavailableOptions( forbiddenOptions ) );
     }
 
-    void handleLongOptionToken( String candidate, ArgumentList arguments, OptionSet detected ) {
-        KeyValuePair optionAndArgument = parseLongOptionWithArgument( candidate );
+    /*
+     * Gives false if the token is an unrecognized option that the parser should treat as a non-option argument.
+     */
+    boolean handleLongOptionToken( String candidate, ArgumentList arguments, DetectedOptions detected,
+        ParserSchema schema ) {
+
+        int equalsIndex = candidate.indexOf( '=', 2 );
+        int nameEnd = endOfOptionName( candidate, equalsIndex );
 
-        if ( !isRecognized( optionAndArgument.key ) )
-            throw unrecognizedOption( optionAndArgument.key );
+        AbstractOptionSpec<?> optionSpec = schema.specFor( candidate, 2, nameEnd );
+        if ( optionSpec == null )
+            return rejectUnrecognizedOption( candidate.substring( 2, nameEnd ), arguments );
 
-        AbstractOptionSpec<?> optionSpec = specFor( optionAndArgument.key );
-        optionSpec.handleOption( this, arguments, detected, optionAndArgument.value );
+        optionSpec.handleOption( this, arguments, detected, argumentAfter( candidate, equalsIndex ) );
+        return true;
     }
 
-    void handleShortOptionToken( String candidate, ArgumentList arguments, OptionSet detected ) {
-        KeyValuePair optionAndArgument = parseShortOptionWithArgument( candidate );
+    /*
+     * Gives false if the token holds an unrecognized option that the parser should treat as a non-option argument.
+     */
+    boolean handleShortOptionToken( String candidate, ArgumentList arguments, DetectedOptions detected,
+        ParserSchema schema ) {
 
-        if ( isRecognized( optionAndArgument.key ) ) {
-            specFor( optionAndArgument.key ).handleOption( this, arguments, detected, optionAndArgument.value );
-        }
-        else
-            handleShortOptionCluster( candidate, arguments, detected );
+        int equalsIndex = candidate.indexOf( '=', 1 );
+
+        AbstractOptionSpec<?> optionSpec = schema.specFor( candidate, 1, endOfOptionName( candidate, equalsIndex ) );
+        if ( optionSpec == null )
+            return handleShortOptionCluster( candidate, arguments, detected, schema );
+
+        optionSpec.handleOption( this, arguments, detected, argumentAfter( candidate, equalsIndex ) );
+        return true;
     }
 
-    private void handleShortOptionCluster( String candidate, ArgumentList arguments, OptionSet detected ) {
-        char[] options = extractShortOptionsFrom( candidate );
-        validateOptionCharacters( options );
+    private boolean handleShortOptionCluster( String candidate, ArgumentList arguments, DetectedOptions detected,
+        ParserSchema schema ) {
 
-        for ( int i = 0; i < options.length; i++ ) {
-            AbstractOptionSpec<?> optionSpec = specFor( options[ i ] );
+        int unrecognized = firstUnrecognizedOptionCharacter( candidate, schema );
+        if ( unrecognized != -1 )
+            return rejectUnrecognizedOption( String.valueOf( candidate.charAt( unrecognized ) ), arguments );
 
-            if ( optionSpec.acceptsArguments() && options.length > i + 1 ) {
-                String detectedArgument = String.valueOf( options, i + 1, options.length - 1 - i );
+        for ( int i = 1; i < candidate.length(); i++ ) {
+            AbstractOptionSpec<?> optionSpec = schema.specFor( candidate.charAt( i ) );
+
+            if ( optionSpec.acceptsArguments() && candidate.length() > i + 1 ) {
+                String detectedArgument = candidate.substring( i + 1 );
                 optionSpec.handleOption( this, arguments, detected, detectedArgument );
                 break;
             }
 
             optionSpec.handleOption( this, arguments, detected, null );
         }
-    }
 
-    void handleNonOptionArgument( String candidate, ArgumentList arguments, OptionSet detectedOptions ) {
-        specFor( NonOptionArgumentSpec.NAME ).handleOption( this, arguments, detectedOptions, candidate );
+        return true;
     }
 
-    void noMoreOptions() {
-        state = OptionParserState.noMoreOptions();
+    void handleNonOptionArgument( String candidate, ArgumentList arguments, DetectedOptions detectedOptions,
+        ParserSchema schema ) {
+
+        if ( arguments.streamsNonOptions() )
+            arguments.holdNonOption( candidate );
+        else
+            schema.nonOptionsSpec().handleOption( this, arguments, detectedOptions, candidate );
     }
 
     boolean looksLikeAnOption( String argument ) {
@@ -614,44 +885,136 @@ public class OptionParser implements OptionDeclarer {
         }
 
         associated.add( required );
-    }
-
-    private AbstractOptionSpec<?> specFor( char option ) {
-        return specFor( String.valueOf( option ) );
+        optionsChanged();
     }
 
     private AbstractOptionSpec<?> specFor( String option ) {
         return recognizedOptions.get( option );
     }
 
-    private void reset() {
-        state = moreOptions( posixlyCorrect );
+    private OptionParserState stateOf( ArgumentList arguments ) {
+        return arguments.optionsEnded() ? noMoreOptions() : moreOptions( posixlyCorrect );
     }
 
-    private static char[] extractShortOptionsFrom( String argument ) {
-        char[] options = new char[ argument.length() - 1 ];
-        argument.getChars( 1, argument.length(), options, 0 );
+    private static OptionNameMap<AbstractOptionSpec<?>> newOptionNameMap( boolean allowAbbreviations,
+        boolean compactOptionNames ) {
 
-        return options;
+        if ( compactOptionNames )
+            return new CompactOptionNameMap<>( allowAbbreviations );
+
+        return allowAbbreviations
+            ? new AbbreviationMap<>()
+            : new SimpleOptionNameMap<>();
+    }
+
+    /*
+     * Help text, along with what it was rendered from.
+     */
+    private static final class RenderedHelp {
+        private final HelpFormatter formatter;
+        private final Locale locale;
+        private final int optionsVersion;
+        final String text;
+
+        RenderedHelp( HelpFormatter formatter, Locale locale, int optionsVersion, String text ) {
+            this.formatter = formatter;
+            this.locale = locale;
+            this.optionsVersion = optionsVersion;
+            this.text = text;
+        }
+
+        boolean isFor( HelpFormatter formatter, Locale locale, int optionsVersion ) {
+            return this.formatter == formatter && this.locale.equals( locale ) && this.optionsVersion == optionsVersion;
+        }
+    }
+
+    /*
+     * Passes help text on to a sink, keeping a copy of it unless it grows too large to be worth keeping.
+     */
+    private static final class HelpCapture implements Appendable {
+        private static final int LIMIT = 1 << 16;
+
+        private final Appendable sink;
+        private StringBuilder copy = new StringBuilder();
+
+        HelpCapture( Appendable sink ) {
+            this.sink = sink;
+        }
+
+        @Override
+        public Appendable append( CharSequence text ) throws IOException {
+            sink.append( text );
+            keep( text, 0, text.length() );
+            return this;
+        }
+
+        @Override
+        public Appendable append( CharSequence text, int start, int end ) throws IOException {
+            sink.append( text, start, end );
+            keep( text, start, end );
+            return this;
+        }
+
+        @Override
+        public Appendable append( char c ) throws IOException {
+            sink.append( c );
+            if ( copy != null )
+                copy = copy.length() + 1 > LIMIT ? null : copy.append( c );
+            return this;
+        }
+
+        private void keep( CharSequence text, int start, int end ) {
+            if ( copy != null )
+                copy = copy.length() + end - start > LIMIT ? null : copy.append( text, start, end );
+        }
+
+        String captured() {
+            return copy == null ? null : copy.toString();
+        }
+    }
+
+    private static Map<List<String>, Set<OptionSpec<?>>> copyOf( Map<List<String>, Set<OptionSpec<?>>> dependents ) {
+        Map<List<String>, Set<OptionSpec<?>>> copy = new HashMap<>();
+        for ( Map.Entry<List<String>, Set<OptionSpec<?>>> each : dependents.entrySet() )
+            copy.put( each.getKey(), new HashSet<>( each.getValue() ) );
+        return copy;
     }
 
-    private void validateOptionCharacters( char[] options ) {
-        for ( char each : options ) {
-            String option = String.valueOf( each );
+    /*
+     * Gives the index of the first character of the cluster that is not a recognized option, up to the first option
+     * that accepts an argument; or -1 if there is none.
+     */
+    private static int firstUnrecognizedOptionCharacter( String cluster, ParserSchema schema ) {
+        for ( int i = 1; i < cluster.length(); i++ ) {
+            AbstractOptionSpec<?> spec = schema.specFor( cluster.charAt( i ) );
 
-            if ( !isRecognized( option ) )
-                throw unrecognizedOption( option );
+            if ( spec == null )
+                return i;
 
-            if ( specFor( option ).acceptsArguments() )
-                return;
+            if ( spec.acceptsArguments() )
+                return -1;
         }
+
+        return -1;
+    }
+
+    /*
+     * Gives false if unrecognized options are allowed, so that the token becomes a non-option argument; otherwise
+     * reports the option and gives true, since the token has been dealt with.
+     */
+    private boolean rejectUnrecognizedOption( String option, ArgumentList arguments ) {
+        if ( allowsUnrecognizedOptions )
+            return false;
+
+        arguments.reportError( ParseError.unrecognizedOption( option ) );
+        return true;
     }
 
-    private static KeyValuePair parseLongOptionWithArgument( String argument ) {
-        return KeyValuePair.valueOf( argument.substring( 2 ) );
+    private static int endOfOptionName( String token, int equalsIndex ) {
+        return equalsIndex == -1 ? token.length() : equalsIndex;
     }
 
-    private static KeyValuePair parseShortOptionWithArgument( String argument ) {
-        return KeyValuePair.valueOf( argument.substring( 1 ) );
+    private static String argumentAfter( String token, int equalsIndex ) {
+        return equalsIndex == -1 ? null : token.substring( equalsIndex + 1 );
     }
 }
@@ -34,43 +34,52 @@ import static joptsimple.ParserRules.*;
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
 abstract class OptionParserState {
+    private static final OptionParserState NO_MORE_OPTIONS = new OptionParserState() {
+        @Override
+        protected void handleArgument( OptionParser parser, ArgumentList arguments, DetectedOptions detectedOptions,
+            ParserSchema schema ) {
+
+            parser.handleNonOptionArgument( arguments.next(), arguments, detectedOptions, schema );
+        }
+    };
+    private static final OptionParserState MORE_OPTIONS = moreOptionsState( false );
+    private static final OptionParserState MORE_OPTIONS_POSIXLY_CORRECT = moreOptionsState( true );
+
     static OptionParserState noMoreOptions() {
-        return new OptionParserState() {
-            @Override
-            protected void handleArgument( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions ) {
-                parser.handleNonOptionArgument( arguments.next(), arguments, detectedOptions );
-            }
-        };
+        return NO_MORE_OPTIONS;
+    }
+
+    static OptionParserState moreOptions( boolean posixlyCorrect ) {
+        return posixlyCorrect ? MORE_OPTIONS_POSIXLY_CORRECT : MORE_OPTIONS;
     }
 
-    static OptionParserState moreOptions( final boolean posixlyCorrect ) {
+    private static OptionParserState moreOptionsState( final boolean posixlyCorrect ) {
         return new OptionParserState() {
             @Override
-            protected void handleArgument( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions ) {
+            protected void handleArgument( OptionParser parser, ArgumentList arguments,
+                DetectedOptions detectedOptions, ParserSchema schema ) {
+
                 String candidate = arguments.next();
-                try {
-                    if ( isOptionTerminator( candidate ) ) {
-                        parser.noMoreOptions();
-                        return;
-                    } else if ( isLongOptionToken( candidate ) ) {
-                        parser.handleLongOptionToken( candidate, arguments, detectedOptions );
+                if ( isOptionTerminator( candidate ) ) {
+                    arguments.noMoreOptions();
+                    detectedOptions.optionsEnded();
+                    return;
+                } else if ( isLongOptionToken( candidate ) ) {
+                    if ( parser.handleLongOptionToken( candidate, arguments, detectedOptions, schema ) )
                         return;
-                    } else if ( isShortOptionToken( candidate ) ) {
-                        parser.handleShortOptionToken( candidate, arguments, detectedOptions );
+                } else if ( isShortOptionToken( candidate ) ) {
+                    if ( parser.handleShortOptionToken( candidate, arguments, detectedOptions, schema ) )
                         return;
-                    }
-                } catch ( UnrecognizedOptionException e ) {
-                    if ( !parser.doesAllowsUnrecognizedOptions() )
-                        throw e;
                 }
 
                 if ( posixlyCorrect )
-                    parser.noMoreOptions();
+                    arguments.noMoreOptions();
 
-                parser.handleNonOptionArgument( candidate, arguments, detectedOptions );
+                parser.handleNonOptionArgument( candidate, arguments, detectedOptions, schema );
             }
         };
     }
 
-    protected abstract void handleArgument( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions );
+    protected abstract void handleArgument( OptionParser parser, ArgumentList arguments,
+        DetectedOptions detectedOptions, ParserSchema schema );
 }
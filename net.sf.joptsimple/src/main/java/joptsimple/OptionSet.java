@@ -27,10 +27,10 @@ package joptsimple;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static java.util.Collections.*;
 import static java.util.Objects.*;
@@ -38,24 +38,35 @@ import static java.util.Objects.*;
 /**
  * Representation of a group of detected command line options, their arguments, and non-option arguments.
  *
+ * <p>Detected options are kept by their {@linkplain AbstractOptionSpec#ordinal() ordinal} within the parser, in a
+ * presence bitmask and an array of arguments, so that asking after an option needs no hashing.</p>
+ *
+ * <p>The arguments of an option are converted to the option's type the first time they are asked for, and the
+ * converted values are kept for later requests. Once {@linkplain OptionParser#parse(String...) parsing} is done, an
+ * option set can be read from many threads at once.</p>
+ *
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
 public class OptionSet {
-    private final List<OptionSpec<?>> detectedSpecs;
-    private final Map<String, AbstractOptionSpec<?>> detectedOptions;
-    private final Map<AbstractOptionSpec<?>, List<String>> optionsToArguments;
-    private final Map<String, AbstractOptionSpec<?>> recognizedSpecs;
-    private final Map<String, List<?>> defaultValues;
+    private static final Object UNCONVERTED = new Object();
+
+    private final List<AbstractOptionSpec<?>> detectedSpecs;
+    private final long[] present;
+    private final DetectedArguments[] optionArguments;
+    private final ParserSchema schema;
+    private final boolean writableStackTraces;
+    private final DetectedOptions detected = new Detected();
+    private int detectedOptionCount;
 
     /*
      * Package-private because clients don't create these.
      */
-    OptionSet( Map<String, AbstractOptionSpec<?>> recognizedSpecs ) {
+    OptionSet( ParserSchema schema, boolean writableStackTraces ) {
         detectedSpecs = new ArrayList<>();
-        detectedOptions = new HashMap<>();
-        optionsToArguments = new IdentityHashMap<>();
-        defaultValues = defaultValues( recognizedSpecs );
-        this.recognizedSpecs = recognizedSpecs;
+        present = new long[ ( schema.ordinalLimit() + 63 ) >>> 6 ];
+        optionArguments = new DetectedArguments[ schema.ordinalLimit() ];
+        this.schema = schema;
+        this.writableStackTraces = writableStackTraces;
     }
 
     /**
@@ -64,7 +75,7 @@ public class OptionSet {
      * @return {@code true} if any options were detected
      */
     public boolean hasOptions() {
-        return !( detectedOptions.size() == 1 && detectedOptions.values().iterator().next().representsNonOptions() );
+        return detectedOptionCount > 0;
     }
 
     /**
@@ -75,7 +86,7 @@ public class OptionSet {
      * @see #has(OptionSpec)
      */
     public boolean has( String option ) {
-        return detectedOptions.containsKey( option );
+        return detectedSpecFor( option ) != null;
     }
 
     /**
@@ -92,7 +103,7 @@ public class OptionSet {
      * @see #has(String)
      */
     public boolean has( OptionSpec<?> option ) {
-        return optionsToArguments.containsKey( option );
+        return isPresent( schema.ordinalOf( option ) );
     }
 
     /**
@@ -103,7 +114,7 @@ public class OptionSet {
      * @see #hasArgument(OptionSpec)
      */
     public boolean hasArgument( String option ) {
-        AbstractOptionSpec<?> spec = detectedOptions.get( option );
+        AbstractOptionSpec<?> spec = detectedSpecFor( option );
         return spec != null && hasArgument( spec );
     }
 
@@ -124,8 +135,8 @@ public class OptionSet {
     public boolean hasArgument( OptionSpec<?> option ) {
         requireNonNull( option );
 
-        List<String> values = optionsToArguments.get( option );
-        return values != null && !values.isEmpty();
+        DetectedArguments arguments = argumentsOf( option );
+        return arguments != null && !arguments.raw.isEmpty();
     }
 
     /**
@@ -145,7 +156,7 @@ public class OptionSet {
     public Object valueOf( String option ) {
         requireNonNull( option );
 
-        AbstractOptionSpec<?> spec = detectedOptions.get( option );
+        AbstractOptionSpec<?> spec = detectedSpecFor( option );
         if ( spec == null ) {
             List<?> defaults = defaultValuesFor( option );
             return defaults.isEmpty() ? null : defaults.get( 0 );
@@ -195,7 +206,7 @@ public class OptionSet {
             case 1:
                 return values.get( 0 );
             default:
-                throw new MultipleArgumentsForOptionException( option );
+                throw new MultipleArgumentsForOptionException( option, writableStackTraces );
         }
     }
 
@@ -227,7 +238,7 @@ public class OptionSet {
     public List<?> valuesOf( String option ) {
         requireNonNull( option );
 
-        AbstractOptionSpec<?> spec = detectedOptions.get( option );
+        AbstractOptionSpec<?> spec = detectedSpecFor( option );
         return spec == null ? defaultValuesFor( option ) : valuesOf( spec );
     }
 
@@ -248,16 +259,173 @@ public class OptionSet {
     public <V> List<V> valuesOf( OptionSpec<V> option ) {
         requireNonNull( option );
 
-        List<String> values = optionsToArguments.get( option );
-        if ( values == null || values.isEmpty() )
+        DetectedArguments arguments = argumentsOf( option );
+        if ( arguments == null || arguments.raw.isEmpty() )
             return defaultValueFor( option );
 
-        AbstractOptionSpec<V> spec = (AbstractOptionSpec<V>) option;
-        List<V> convertedValues = new ArrayList<>();
-        for ( String each : values )
-            convertedValues.add( spec.convert( each ) );
+        return arguments.convertedBy( (AbstractOptionSpec<V>) option, writableStackTraces );
+    }
+
+    /**
+     * <p>Gives the arguments associated with the given option as {@code int}s. The arguments of an option made
+     * with {@link ArgumentAcceptingOptionSpec#ofInt()} are parsed to primitives without boxing. Arguments separated
+     * by {@link ArgumentAcceptingOptionSpec#withValuesSeparatedBy(char)} are kept as a string per value, as for every
+     * option, and each is parsed from that string.</p>
+     *
+     * @param option the option to search for
+     * @return the arguments of the option; its default values if no arguments are present, or if the option was not
+     * detected; an empty array if there are neither
+     * @throws NullPointerException if {@code option} is {@code null}
+     * @throws OptionException if an argument cannot be converted to a {@code int}
+     * @throws ClassCastException if the arguments of this option are not {@link Integer}s
+     */
+    public int[] intValuesOf( OptionSpec<Integer> option ) {
+        requireNonNull( option );
+
+        DetectedArguments arguments = argumentsOf( option );
+        if ( arguments == null || arguments.raw.isEmpty() ) {
+            List<Integer> defaults = defaultValueFor( option );
+            int[] values = new int[ defaults.size() ];
+            for ( int i = 0; i < values.length; ++i )
+                values[ i ] = defaults.get( i );
+            return values;
+        }
+
+        AbstractOptionSpec<Integer> spec = (AbstractOptionSpec<Integer>) option;
+        int[] values = new int[ arguments.raw.size() ];
+        for ( int i = 0; i < values.length; ++i )
+            values[ i ] = arguments.intAt( i, spec, writableStackTraces );
+        return values;
+    }
+
+    /**
+     * <p>Gives the argument associated with the given option as a {@code int}. The argument of an option made
+     * with {@link ArgumentAcceptingOptionSpec#ofInt()} is parsed to a primitive without boxing.</p>
+     *
+     * @param option the option to search for
+     * @param otherwise the value to give if no argument is present and the option has no default value
+     * @return the argument of the option, or its default value if no argument is present, or if the option was not
+     * detected
+     * @throws NullPointerException if {@code option} is {@code null}
+     * @throws OptionException if more than one argument was detected for the option, or the argument cannot be
+     * converted to a {@code int}
+     * @throws ClassCastException if the arguments of this option are not {@link Integer}s
+     */
+    public int intValueOf( OptionSpec<Integer> option, int otherwise ) {
+        DetectedArguments arguments = singleArgumentOf( option );
+        if ( arguments != null )
+            return arguments.intAt( 0, (AbstractOptionSpec<Integer>) option, writableStackTraces );
+
+        List<Integer> defaults = defaultValueFor( option );
+        return defaults.isEmpty() ? otherwise : defaults.get( 0 );
+    }
+
+    /**
+     * <p>Gives the arguments associated with the given option as {@code long}s. The arguments of an option made
+     * with {@link ArgumentAcceptingOptionSpec#ofLong()} are parsed to primitives without boxing. Arguments separated
+     * by {@link ArgumentAcceptingOptionSpec#withValuesSeparatedBy(char)} are kept as a string per value, as for every
+     * option, and each is parsed from that string.</p>
+     *
+     * @param option the option to search for
+     * @return the arguments of the option; its default values if no arguments are present, or if the option was not
+     * detected; an empty array if there are neither
+     * @throws NullPointerException if {@code option} is {@code null}
+     * @throws OptionException if an argument cannot be converted to a {@code long}
+     * @throws ClassCastException if the arguments of this option are not {@link Long}s
+     */
+    public long[] longValuesOf( OptionSpec<Long> option ) {
+        requireNonNull( option );
+
+        DetectedArguments arguments = argumentsOf( option );
+        if ( arguments == null || arguments.raw.isEmpty() ) {
+            List<Long> defaults = defaultValueFor( option );
+            long[] values = new long[ defaults.size() ];
+            for ( int i = 0; i < values.length; ++i )
+                values[ i ] = defaults.get( i );
+            return values;
+        }
+
+        AbstractOptionSpec<Long> spec = (AbstractOptionSpec<Long>) option;
+        long[] values = new long[ arguments.raw.size() ];
+        for ( int i = 0; i < values.length; ++i )
+            values[ i ] = arguments.longAt( i, spec, writableStackTraces );
+        return values;
+    }
+
+    /**
+     * <p>Gives the argument associated with the given option as a {@code long}. The argument of an option made
+     * with {@link ArgumentAcceptingOptionSpec#ofLong()} is parsed to a primitive without boxing.</p>
+     *
+     * @param option the option to search for
+     * @param otherwise the value to give if no argument is present and the option has no default value
+     * @return the argument of the option, or its default value if no argument is present, or if the option was not
+     * detected
+     * @throws NullPointerException if {@code option} is {@code null}
+     * @throws OptionException if more than one argument was detected for the option, or the argument cannot be
+     * converted to a {@code long}
+     * @throws ClassCastException if the arguments of this option are not {@link Long}s
+     */
+    public long longValueOf( OptionSpec<Long> option, long otherwise ) {
+        DetectedArguments arguments = singleArgumentOf( option );
+        if ( arguments != null )
+            return arguments.longAt( 0, (AbstractOptionSpec<Long>) option, writableStackTraces );
+
+        List<Long> defaults = defaultValueFor( option );
+        return defaults.isEmpty() ? otherwise : defaults.get( 0 );
+    }
+
+    /**
+     * <p>Gives the arguments associated with the given option as {@code double}s. The arguments of an option made
+     * with {@link ArgumentAcceptingOptionSpec#ofDouble()} are parsed to primitives without boxing. Arguments separated
+     * by {@link ArgumentAcceptingOptionSpec#withValuesSeparatedBy(char)} are kept as a string per value, as for every
+     * option, and each is parsed from that string.</p>
+     *
+     * @param option the option to search for
+     * @return the arguments of the option; its default values if no arguments are present, or if the option was not
+     * detected; an empty array if there are neither
+     * @throws NullPointerException if {@code option} is {@code null}
+     * @throws OptionException if an argument cannot be converted to a {@code double}
+     * @throws ClassCastException if the arguments of this option are not {@link Double}s
+     */
+    public double[] doubleValuesOf( OptionSpec<Double> option ) {
+        requireNonNull( option );
+
+        DetectedArguments arguments = argumentsOf( option );
+        if ( arguments == null || arguments.raw.isEmpty() ) {
+            List<Double> defaults = defaultValueFor( option );
+            double[] values = new double[ defaults.size() ];
+            for ( int i = 0; i < values.length; ++i )
+                values[ i ] = defaults.get( i );
+            return values;
+        }
+
+        AbstractOptionSpec<Double> spec = (AbstractOptionSpec<Double>) option;
+        double[] values = new double[ arguments.raw.size() ];
+        for ( int i = 0; i < values.length; ++i )
+            values[ i ] = arguments.doubleAt( i, spec, writableStackTraces );
+        return values;
+    }
+
+    /**
+     * <p>Gives the argument associated with the given option as a {@code double}. The argument of an option made
+     * with {@link ArgumentAcceptingOptionSpec#ofDouble()} is parsed to a primitive without boxing.</p>
+     *
+     * @param option the option to search for
+     * @param otherwise the value to give if no argument is present and the option has no default value
+     * @return the argument of the option, or its default value if no argument is present, or if the option was not
+     * detected
+     * @throws NullPointerException if {@code option} is {@code null}
+     * @throws OptionException if more than one argument was detected for the option, or the argument cannot be
+     * converted to a {@code double}
+     * @throws ClassCastException if the arguments of this option are not {@link Double}s
+     */
+    public double doubleValueOf( OptionSpec<Double> option, double otherwise ) {
+        DetectedArguments arguments = singleArgumentOf( option );
+        if ( arguments != null )
+            return arguments.doubleAt( 0, (AbstractOptionSpec<Double>) option, writableStackTraces );
 
-        return unmodifiableList( convertedValues );
+        List<Double> defaults = defaultValueFor( option );
+        return defaults.isEmpty() ? otherwise : defaults.get( 0 );
     }
 
     /**
@@ -269,7 +437,7 @@ public class OptionSet {
      */
     public List<OptionSpec<?>> specs() {
         List<OptionSpec<?>> specs = new ArrayList<>( detectedSpecs );
-        specs.removeAll( singletonList( detectedOptions.get( NonOptionArgumentSpec.NAME ) ) );
+        specs.removeAll( singletonList( schema.nonOptionsSpec() ) );
 
         return unmodifiableList( specs );
     }
@@ -283,7 +451,7 @@ public class OptionSet {
      */
     public List<OptionSpec<?>> specsWithNonOptions() {
         List<OptionSpec<?>> specs = new ArrayList<>( detectedSpecs );
-        specs.remove( detectedOptions.get( NonOptionArgumentSpec.NAME ) );
+        specs.remove( schema.nonOptionsSpec() );
 
         return unmodifiableList( specs );
     }
@@ -296,7 +464,7 @@ public class OptionSet {
     public Map<OptionSpec<?>, List<?>> asMap() {
         Map<OptionSpec<?>, List<?>> map = new HashMap<>();
 
-        for ( AbstractOptionSpec<?> spec : recognizedSpecs.values() ) {
+        for ( AbstractOptionSpec<?> spec : schema.specs() ) {
             if ( !spec.representsNonOptions() )
                 map.put( spec, valuesOf( spec ) );
         }
@@ -308,8 +476,14 @@ public class OptionSet {
      * @return the detected non-option arguments
      */
     public List<?> nonOptionArguments() {
-        AbstractOptionSpec<?> spec = detectedOptions.get( NonOptionArgumentSpec.NAME );
-        return valuesOf( spec );
+        return valuesOf( schema.nonOptionsSpec() );
+    }
+
+    /*
+     * Gives the sink through which a parser adds what it detects to this option set.
+     */
+    DetectedOptions detected() {
+        return detected;
     }
 
     void add( AbstractOptionSpec<?> spec ) {
@@ -317,20 +491,45 @@ public class OptionSet {
     }
 
     void addWithArgument( AbstractOptionSpec<?> spec, String argument ) {
+        addWithArgument( spec, argument, UNCONVERTED );
+    }
+
+    void addWithConvertedArgument( AbstractOptionSpec<?> spec, String argument, Object converted ) {
+        addWithArgument( spec, argument, converted );
+    }
+
+    private void addWithArgument( AbstractOptionSpec<?> spec, String argument, Object converted ) {
         detectedSpecs.add( spec );
 
-        for ( String each : spec.options() )
-            detectedOptions.put( each, spec );
+        int ordinal = spec.ordinal();
+        long bit = 1L << ordinal;
+        if ( ( present[ ordinal >>> 6 ] & bit ) == 0 ) {
+            present[ ordinal >>> 6 ] |= bit;
+            if ( !spec.representsNonOptions() )
+                ++detectedOptionCount;
+        }
 
-        List<String> optionArguments = optionsToArguments.get( spec );
+        if ( argument != null ) {
+            if ( optionArguments[ ordinal ] == null )
+                optionArguments[ ordinal ] = new DetectedArguments();
+            optionArguments[ ordinal ].add( argument, converted );
+        }
+    }
 
-        if ( optionArguments == null ) {
-            optionArguments = new ArrayList<>();
-            optionsToArguments.put( spec, optionArguments );
+    void convertArguments() {
+        for ( AbstractOptionSpec<?> each : schema.specs() ) {
+            DetectedArguments arguments = optionArguments[ each.ordinal() ];
+            if ( arguments != null )
+                arguments.convertedBy( each, writableStackTraces );
         }
+    }
 
-        if ( argument != null )
-            optionArguments.add( argument );
+    void tryConvertArguments( Consumer<ParseError> errors ) {
+        for ( AbstractOptionSpec<?> each : schema.specs() ) {
+            DetectedArguments arguments = optionArguments[ each.ordinal() ];
+            if ( arguments != null )
+                arguments.tryConvertBy( each, errors );
+        }
     }
 
     @Override
@@ -342,34 +541,185 @@ public class OptionSet {
             return false;
 
         OptionSet other = (OptionSet) that;
-        Map<AbstractOptionSpec<?>, List<String>> thisOptionsToArguments = new HashMap<>( optionsToArguments );
-        Map<AbstractOptionSpec<?>, List<String>> otherOptionsToArguments = new HashMap<>( other.optionsToArguments );
-        return detectedOptions.equals( other.detectedOptions )
-            && thisOptionsToArguments.equals( otherOptionsToArguments );
+        return rawArguments().equals( other.rawArguments() );
     }
 
     @Override
     public int hashCode() {
-        Map<AbstractOptionSpec<?>, List<String>> thisOptionsToArguments = new HashMap<>( optionsToArguments );
-        return detectedOptions.hashCode() ^ thisOptionsToArguments.hashCode();
+        return rawArguments().hashCode();
+    }
+
+    /*
+     * Gives the arguments of each detected option, keyed by spec; options detected without arguments have none.
+     */
+    private Map<AbstractOptionSpec<?>, List<String>> rawArguments() {
+        Map<AbstractOptionSpec<?>, List<String>> raw = new HashMap<>();
+        for ( AbstractOptionSpec<?> each : schema.specs() ) {
+            if ( isPresent( each.ordinal() ) ) {
+                DetectedArguments arguments = optionArguments[ each.ordinal() ];
+                raw.put( each, arguments == null ? emptyList() : arguments.raw );
+            }
+        }
+        return raw;
+    }
+
+    /*
+     * Gives the mask of detected option ordinals itself, for checking constraints without copying.
+     */
+    long[] presence() {
+        return present;
+    }
+
+    private boolean isPresent( int ordinal ) {
+        return ordinal >= 0 && ( present[ ordinal >>> 6 ] & ( 1L << ordinal ) ) != 0;
+    }
+
+    private DetectedArguments argumentsOf( OptionSpec<?> option ) {
+        int ordinal = schema.ordinalOf( option );
+        return ordinal == -1 ? null : optionArguments[ ordinal ];
+    }
+
+    /*
+     * Gives the arguments of the given option if it has exactly one. Gives null if it has none, in which case it has
+     * at most one default value.
+     */
+    private DetectedArguments singleArgumentOf( OptionSpec<?> option ) {
+        requireNonNull( option );
+
+        DetectedArguments arguments = argumentsOf( option );
+        boolean detected = arguments != null && !arguments.raw.isEmpty();
+        int count = detected ? arguments.raw.size() : defaultValueFor( option ).size();
+        if ( count > 1 )
+            throw new MultipleArgumentsForOptionException( option, writableStackTraces );
+
+        return detected ? arguments : null;
+    }
+
+    /*
+     * Gives the detected spec that the given name stood for; where later specs took over some synonyms of earlier
+     * ones, the name stands for the last detected spec that has it.
+     */
+    private AbstractOptionSpec<?> detectedSpecFor( String option ) {
+        if ( !schema.hasShadowedSynonyms() ) {
+            AbstractOptionSpec<?> spec = schema.recognizedSpecs().get( option );
+            return spec != null && isPresent( spec.ordinal() ) ? spec : null;
+        }
+
+        for ( int i = detectedSpecs.size() - 1; i >= 0; --i ) {
+            AbstractOptionSpec<?> spec = detectedSpecs.get( i );
+            if ( spec.options().contains( option ) )
+                return spec;
+        }
+
+        return null;
     }
 
     @SuppressWarnings( "unchecked" )
     private <V> List<V> defaultValuesFor( String option ) {
-        if ( defaultValues.containsKey( option ) )
-            return unmodifiableList( (List<V>) defaultValues.get( option ) );
-
-        return emptyList();
+        return (List<V>) schema.defaultValuesFor( option );
     }
 
     private <V> List<V> defaultValueFor( OptionSpec<V> option ) {
         return defaultValuesFor( option.options().iterator().next() );
     }
 
-    private static Map<String, List<?>> defaultValues( Map<String, AbstractOptionSpec<?>> recognizedSpecs ) {
-        Map<String, List<?>> defaults = new HashMap<>();
-        for ( Map.Entry<String, AbstractOptionSpec<?>> each : recognizedSpecs.entrySet() )
-            defaults.put( each.getKey(), each.getValue().defaultValues() );
-        return defaults;
+    private final class Detected extends DetectedOptions {
+        @Override
+        void add( AbstractOptionSpec<?> spec ) {
+            OptionSet.this.add( spec );
+        }
+
+        @Override
+        void addWithArgument( AbstractOptionSpec<?> spec, String argument ) {
+            OptionSet.this.addWithArgument( spec, argument );
+        }
+
+        @Override
+        void addWithConvertedArgument( AbstractOptionSpec<?> spec, String argument, Object converted ) {
+            OptionSet.this.addWithConvertedArgument( spec, argument, converted );
+        }
+    }
+
+    /*
+     * The arguments detected for one option, and their values converted by the option once first asked for. Threads
+     * that race to convert the same arguments each publish an equal, unmodifiable list, so the race is harmless.
+     * Arguments that the parser already converted while probing them keep the probed values, and are not converted
+     * again.
+     */
+    private static final class DetectedArguments {
+        final List<String> raw = new ArrayList<>();
+        private List<Object> probed;
+        private volatile List<?> converted;
+
+        void add( String argument, Object probedValue ) {
+            if ( probed == null && probedValue != UNCONVERTED )
+                probed = new ArrayList<>( nCopies( raw.size(), UNCONVERTED ) );
+
+            raw.add( argument );
+            if ( probed != null )
+                probed.add( probedValue );
+            converted = null;
+        }
+
+        int intAt( int index, AbstractOptionSpec<Integer> spec, boolean writableStackTraces ) {
+            Object known = knownValueAt( index );
+            return known == UNCONVERTED ? spec.intValue( raw.get( index ), writableStackTraces ) : (Integer) known;
+        }
+
+        long longAt( int index, AbstractOptionSpec<Long> spec, boolean writableStackTraces ) {
+            Object known = knownValueAt( index );
+            return known == UNCONVERTED ? spec.longValue( raw.get( index ), writableStackTraces ) : (Long) known;
+        }
+
+        double doubleAt( int index, AbstractOptionSpec<Double> spec, boolean writableStackTraces ) {
+            Object known = knownValueAt( index );
+            return known == UNCONVERTED ? spec.doubleValue( raw.get( index ), writableStackTraces ) : (Double) known;
+        }
+
+        private Object knownValueAt( int index ) {
+            List<?> current = converted;
+            if ( current != null )
+                return current.get( index );
+
+            return probed == null ? UNCONVERTED : probed.get( index );
+        }
+
+        /*
+         * Converts the arguments not yet converted, keeping the values as if probed, and reports each argument that
+         * cannot be converted instead of raising an exception.
+         */
+        <V> void tryConvertBy( AbstractOptionSpec<V> spec, Consumer<ParseError> errors ) {
+            for ( int i = 0; i < raw.size(); ++i ) {
+                if ( probed != null && probed.get( i ) != UNCONVERTED )
+                    continue;
+
+                Object value = spec.tryConvert( raw.get( i ) );
+                if ( value == AbstractOptionSpec.UNCONVERTIBLE ) {
+                    errors.accept( ParseError.conversionFailure( spec, raw.get( i ) ) );
+                    continue;
+                }
+
+                if ( probed == null )
+                    probed = new ArrayList<>( nCopies( raw.size(), UNCONVERTED ) );
+                probed.set( i, value );
+            }
+        }
+
+        @SuppressWarnings( "unchecked" )
+        <V> List<V> convertedBy( AbstractOptionSpec<V> spec, boolean writableStackTraces ) {
+            List<?> current = converted;
+            if ( current == null ) {
+                List<V> values = new ArrayList<>( raw.size() );
+                for ( int i = 0; i < raw.size(); ++i ) {
+                    Object known = probed == null ? UNCONVERTED : probed.get( i );
+                    values.add( known == UNCONVERTED ? spec.convert( raw.get( i ), writableStackTraces ) : (V) known );
+                }
+
+                current = unmodifiableList( values );
+                converted = current;
+            }
+
+            return (List<V>) current;
+        }
     }
 }
@@ -43,27 +43,33 @@ class OptionalArgumentOptionSpec<V> extends ArgumentAcceptingOptionSpec<V> {
     }
 
     @Override
-    protected void detectOptionArgument( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions ) {
+    void detectOptionArgument( OptionParser parser, ArgumentList arguments, DetectedOptions detectedOptions ) {
+
         if ( arguments.hasMore() ) {
             String nextArgument = arguments.peek();
+            boolean looksLikeAnOption = parser.looksLikeAnOption( nextArgument );
+            List<V> converted =
+                looksLikeAnOption && !isArgumentOfNumberType() ? null : tryConvertArgument( nextArgument );
 
-            if ( !parser.looksLikeAnOption( nextArgument ) && canConvertArgument( nextArgument ) )
-                handleOptionArgument( parser, detectedOptions, arguments );
-            else if ( isArgumentOfNumberType() && canConvertArgument( nextArgument ) )
-                addArguments( detectedOptions, arguments.next() );
-            else
+            if ( converted == null )
                 detectedOptions.add( this );
+            else if ( !looksLikeAnOption )
+                handleOptionArgument( parser, detectedOptions, arguments, converted );
+            else
+                addArguments( detectedOptions, arguments.next(), converted );
         }
         else
             detectedOptions.add( this );
     }
 
-    private void handleOptionArgument( OptionParser parser, OptionSet detectedOptions, ArgumentList arguments ) {
+    private void handleOptionArgument( OptionParser parser, DetectedOptions detectedOptions, ArgumentList arguments,
+        List<V> converted ) {
+
         if ( parser.posixlyCorrect() ) {
             detectedOptions.add( this );
-            parser.noMoreOptions();
+            arguments.noMoreOptions();
         }
         else
-            addArguments( detectedOptions, arguments.next() );
+            addArguments( detectedOptions, arguments.next(), converted );
     }
 }
@@ -0,0 +1,203 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.List;
+import java.util.Locale;
+
+import static java.util.Collections.*;
+
+import joptsimple.internal.Messages;
+
+import static joptsimple.OptionException.*;
+
+/**
+ * <p>A problem that {@link OptionParser#tryParse(String...)} found with a command line: the information an
+ * {@link OptionException} would carry, without the cost of building an exception.</p>
+ */
+public final class ParseError {
+    /**
+     * The kinds of problem that parsing can find.
+     */
+    public enum Kind {
+        /**
+         * The command line contains an option that the parser does not recognize.
+         */
+        UNRECOGNIZED_OPTION( UnrecognizedOptionException.class ),
+
+        /**
+         * An option that requires an argument is the last thing on the command line.
+         */
+        MISSING_ARGUMENT( OptionMissingRequiredArgumentException.class ),
+
+        /**
+         * An argument of an option cannot be converted to the option's argument type.
+         */
+        CONVERSION_FAILURE( OptionArgumentConversionException.class ),
+
+        /**
+         * Options that are required are not on the command line.
+         */
+        MISSING_REQUIRED_OPTIONS( MissingRequiredOptionsException.class ),
+
+        /**
+         * Options on the command line are not available given the other options there.
+         */
+        UNAVAILABLE_OPTIONS( UnavailableOptionException.class );
+
+        private final Class<? extends OptionException> exceptionType;
+
+        Kind( Class<? extends OptionException> exceptionType ) {
+            this.exceptionType = exceptionType;
+        }
+    }
+
+    private final Kind kind;
+    private final List<? extends OptionSpec<?>> specs;
+    private final List<String> options;
+    private final String argument;
+
+    private ParseError( Kind kind, List<? extends OptionSpec<?>> specs, List<String> options, String argument ) {
+        this.kind = kind;
+        this.specs = specs;
+        this.options = unmodifiableList( options );
+        this.argument = argument;
+    }
+
+    static ParseError unrecognizedOption( String option ) {
+        return new ParseError( Kind.UNRECOGNIZED_OPTION, emptyList(), singletonList( option ), null );
+    }
+
+    static ParseError missingArgument( OptionSpec<?> spec ) {
+        return ofSpecs( Kind.MISSING_ARGUMENT, singletonList( spec ), null );
+    }
+
+    static ParseError conversionFailure( OptionSpec<?> spec, String argument ) {
+        return ofSpecs( Kind.CONVERSION_FAILURE, singletonList( spec ), argument );
+    }
+
+    static ParseError missingRequiredOptions( List<? extends OptionSpec<?>> specs ) {
+        return ofSpecs( Kind.MISSING_REQUIRED_OPTIONS, specs, null );
+    }
+
+    static ParseError unavailableOptions( List<? extends OptionSpec<?>> specs ) {
+        return ofSpecs( Kind.UNAVAILABLE_OPTIONS, specs, null );
+    }
+
+    private static ParseError ofSpecs( Kind kind, List<? extends OptionSpec<?>> specs, String argument ) {
+        return new ParseError( kind, specs, specsToStrings( specs ), argument );
+    }
+
+    /**
+     * @return what kind of problem this is
+     */
+    public Kind kind() {
+        return kind;
+    }
+
+    /**
+     * Gives the options involved in the problem. Each option with synonyms is given as its synonyms separated by
+     * {@code "/"}, as in {@link OptionException#options()}.
+     *
+     * @return the options involved in the problem
+     */
+    public List<String> options() {
+        return options;
+    }
+
+    /**
+     * @return the argument that could not be converted, for a {@link Kind#CONVERSION_FAILURE}; otherwise
+     * {@code null}
+     */
+    public String argument() {
+        return argument;
+    }
+
+    /**
+     * Gives a description of the problem, the same as the corresponding {@link OptionException} would give from
+     * {@link OptionException#getMessage()}.
+     *
+     * @return a description of the problem
+     */
+    public String message() {
+        return message( Locale.ENGLISH );
+    }
+
+    /**
+     * Gives a description of the problem in the default locale, the same as the corresponding
+     * {@link OptionException} would give from {@link OptionException#getLocalizedMessage()}.
+     *
+     * @return a localized description of the problem
+     */
+    public String localizedMessage() {
+        return message( Locale.getDefault() );
+    }
+
+    /**
+     * Gives the exception that {@link OptionParser#parse(String...)} would raise for this problem.
+     *
+     * @return an exception describing this problem
+     */
+    public OptionException toException() {
+        return toException( true );
+    }
+
+    OptionException toException( boolean writableStackTrace ) {
+        switch ( kind ) {
+            case UNRECOGNIZED_OPTION:
+                return OptionException.unrecognizedOption( options.get( 0 ), writableStackTrace );
+            case MISSING_ARGUMENT:
+                return new OptionMissingRequiredArgumentException( specs.get( 0 ), writableStackTrace );
+            case CONVERSION_FAILURE:
+                return new OptionArgumentConversionException( specs.get( 0 ), argument, null, writableStackTrace );
+            case MISSING_REQUIRED_OPTIONS:
+                return new MissingRequiredOptionsException( specs, writableStackTrace );
+            default:
+                return new UnavailableOptionException( specs, writableStackTrace );
+        }
+    }
+
+    @Override
+    public String toString() {
+        return message();
+    }
+
+    private String message( Locale locale ) {
+        return Messages.message( locale, "joptsimple.ExceptionMessages", kind.exceptionType, "message", arguments() );
+    }
+
+    private Object[] arguments() {
+        switch ( kind ) {
+            case CONVERSION_FAILURE:
+                return new Object[] { argument, options.get( 0 ) };
+            case MISSING_REQUIRED_OPTIONS:
+            case UNAVAILABLE_OPTIONS:
+                return new Object[] { multipleOptionString( options ) };
+            default:
+                return new Object[] { options.get( 0 ) };
+        }
+    }
+}
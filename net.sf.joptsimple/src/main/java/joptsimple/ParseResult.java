@@ -0,0 +1,69 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.List;
+
+import static java.util.Collections.*;
+
+/**
+ * <p>The outcome of {@link OptionParser#tryParse(String...)}: the options that could be detected, and any problems
+ * found along the way.</p>
+ */
+public final class ParseResult {
+    private final OptionSet options;
+    private final List<ParseError> errors;
+
+    ParseResult( OptionSet options, List<ParseError> errors ) {
+        this.options = options;
+        this.errors = unmodifiableList( errors );
+    }
+
+    /**
+     * Gives the options detected on the command line. If there were problems, this holds what could be detected
+     * around them: unrecognized options and options missing their arguments are left out, and reading the values of
+     * an option whose arguments could not be converted raises an {@link OptionException}.
+     *
+     * @return the detected options
+     */
+    public OptionSet options() {
+        return options;
+    }
+
+    /**
+     * @return the problems found, in the order they were found; empty if there were none
+     */
+    public List<ParseError> errors() {
+        return errors;
+    }
+
+    /**
+     * @return whether any problems were found
+     */
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.*;
+
+import joptsimple.internal.OptionNameMap;
+
+/**
+ * <p>A precomputed view of the options that an {@link OptionParser} recognizes: its distinct specs, also indexed by
+ * {@linkplain AbstractOptionSpec#ordinal() ordinal}, their default values, the {@linkplain OptionConstraints
+ * constraints} among them, and a table of single-character options indexed by character.</p>
+ *
+ * <p>Parsers build a schema once and reuse it for every parse, until the set of recognized options changes.</p>
+ */
+final class ParserSchema {
+    private static final int SHORT_OPTION_TABLE_SIZE = 128;
+
+    private final int version;
+    private final OptionNameMap<AbstractOptionSpec<?>> recognizedOptions;
+    private final Map<String, AbstractOptionSpec<?>> recognizedSpecs;
+    private final AbstractOptionSpec<?>[] specs;
+    private final AbstractOptionSpec<?>[] specsByOrdinal;
+    private final boolean shadowedSynonyms;
+    private final Map<String, List<?>> defaultValues;
+    private final AbstractOptionSpec<?> nonOptionsSpec;
+    private final AbstractOptionSpec<?>[] shortOptions;
+    private final OptionConstraints constraints;
+
+    ParserSchema( int version, OptionNameMap<AbstractOptionSpec<?>> recognizedOptions, int ordinalLimit,
+        Map<List<String>, Set<OptionSpec<?>>> requiredIf, Map<List<String>, Set<OptionSpec<?>>> requiredUnless,
+        Map<List<String>, Set<OptionSpec<?>>> availableIf, Map<List<String>, Set<OptionSpec<?>>> availableUnless,
+        List<OptionGroup> groups ) {
+
+        Map<String, AbstractOptionSpec<?>> recognizedSpecs = recognizedOptions.toJavaUtilMap();
+
+        this.version = version;
+        this.recognizedOptions = recognizedOptions;
+        this.recognizedSpecs = unmodifiableMap( recognizedSpecs );
+
+        Set<AbstractOptionSpec<?>> distinct = newSetFromMap( new IdentityHashMap<>() );
+        List<AbstractOptionSpec<?>> ordered = new ArrayList<>();
+        List<AbstractOptionSpec<?>> required = new ArrayList<>();
+        List<AbstractOptionSpec<?>> help = new ArrayList<>();
+        Map<String, List<?>> defaults = new HashMap<>();
+
+        for ( Map.Entry<String, AbstractOptionSpec<?>> each : recognizedSpecs.entrySet() ) {
+            AbstractOptionSpec<?> spec = each.getValue();
+            defaults.put( each.getKey(), spec.defaultValues() );
+
+            if ( distinct.add( spec ) ) {
+                ordered.add( spec );
+                if ( spec.isRequired() )
+                    required.add( spec );
+                if ( spec.isForHelp() )
+                    help.add( spec );
+            }
+        }
+
+        specs = ordered.toArray( new AbstractOptionSpec<?>[ 0 ] );
+        specsByOrdinal = new AbstractOptionSpec<?>[ ordinalLimit ];
+        boolean shadowed = false;
+        for ( AbstractOptionSpec<?> each : specs ) {
+            specsByOrdinal[ each.ordinal() ] = each;
+            for ( String option : each.options() )
+                shadowed |= recognizedSpecs.get( option ) != each;
+        }
+        shadowedSynonyms = shadowed;
+        defaultValues = defaults;
+        nonOptionsSpec = recognizedSpecs.get( NonOptionArgumentSpec.NAME );
+
+        shortOptions = new AbstractOptionSpec<?>[ SHORT_OPTION_TABLE_SIZE ];
+        for ( char each = 0; each < SHORT_OPTION_TABLE_SIZE; ++each )
+            shortOptions[ each ] = recognizedOptions.get( String.valueOf( each ) );
+
+        constraints = new OptionConstraints( this, required, help, requiredIf, requiredUnless, availableIf,
+            availableUnless, groups );
+    }
+
+    int version() {
+        return version;
+    }
+
+    Map<String, AbstractOptionSpec<?>> recognizedSpecs() {
+        return recognizedSpecs;
+    }
+
+    AbstractOptionSpec<?>[] specs() {
+        return specs;
+    }
+
+    int ordinalLimit() {
+        return specsByOrdinal.length;
+    }
+
+    /*
+     * Gives the ordinal of the given spec if it is one of these specs, or -1 otherwise.
+     */
+    int ordinalOf( OptionSpec<?> option ) {
+        if ( !( option instanceof AbstractOptionSpec<?> ) )
+            return -1;
+
+        int ordinal = ( (AbstractOptionSpec<?>) option ).ordinal();
+        return ordinal >= 0 && ordinal < specsByOrdinal.length && specsByOrdinal[ ordinal ] == option ? ordinal : -1;
+    }
+
+    /*
+     * Tells whether some spec has a synonym that now names a spec recognized later, so that the name alone no longer
+     * tells which spec was detected.
+     */
+    boolean hasShadowedSynonyms() {
+        return shadowedSynonyms;
+    }
+
+    /*
+     * Answers the same spec as the parser's option name map would for the given single character, including unique
+     * abbreviations of long options, without creating a string for ASCII characters.
+     */
+    AbstractOptionSpec<?> specFor( char option ) {
+        return option < SHORT_OPTION_TABLE_SIZE
+            ? shortOptions[ option ]
+            : recognizedOptions.get( String.valueOf( option ) );
+    }
+
+    /*
+     * Answers the spec that the option name spanning the given range of a token resolves to, without creating the
+     * name string where the name map allows it.
+     */
+    AbstractOptionSpec<?> specFor( String token, int start, int end ) {
+        return end - start == 1
+            ? specFor( token.charAt( start ) )
+            : recognizedOptions.get( token, start, end );
+    }
+
+    AbstractOptionSpec<?> nonOptionsSpec() {
+        return nonOptionsSpec;
+    }
+
+    List<?> defaultValuesFor( String option ) {
+        List<?> defaults = defaultValues.get( option );
+        return defaults == null ? emptyList() : defaults;
+    }
+
+    OptionConstraints constraints() {
+        return constraints;
+    }
+}
@@ -43,9 +43,12 @@ class RequiredArgumentOptionSpec<V> extends ArgumentAcceptingOptionSpec<V> {
     }
 
     @Override
-    protected void detectOptionArgument( OptionParser parser, ArgumentList arguments, OptionSet detectedOptions ) {
-        if ( !arguments.hasMore() )
-            throw new OptionMissingRequiredArgumentException( this );
+    void detectOptionArgument( OptionParser parser, ArgumentList arguments, DetectedOptions detectedOptions ) {
+
+        if ( !arguments.hasMore() ) {
+            arguments.reportError( ParseError.missingArgument( this ) );
+            return;
+        }
 
         addArguments( detectedOptions, arguments.next() );
     }
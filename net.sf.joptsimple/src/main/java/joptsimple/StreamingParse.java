@@ -0,0 +1,145 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Spliterator.*;
+import static java.util.Spliterators.*;
+
+/**
+ * <p>A parse in progress, obtained from {@link OptionParser#parseStreaming(Iterator)}.</p>
+ *
+ * <p>The parse reads its arguments lazily, as its {@linkplain #nonOptionArguments() non-option arguments} are
+ * consumed. Options met along the way are added to its {@linkplain #options() options}:</p>
+ *
+ * <pre><code>
+ *   StreamingParse parse = parser.parseStreaming( lines );
+ *   boolean verbose = parse.options().has( "verbose" );
+ *   parse.nonOptionArguments().forEach( file -&gt; process( file, verbose ) );
+ * </code></pre>
+ *
+ * <p>Instances are not safe for use by multiple threads.</p>
+ */
+public final class StreamingParse {
+    private final OptionParser parser;
+    private final ParserSchema schema;
+    private final ArgumentList arguments;
+    private final OptionSet detected;
+    private boolean complete;
+    private boolean streamed;
+
+    StreamingParse( OptionParser parser, ParserSchema schema, ArgumentList arguments ) {
+        this.parser = parser;
+        this.schema = schema;
+        this.arguments = arguments;
+        this.detected = parser.newOptionSet( schema );
+
+        advance();
+    }
+
+    /**
+     * <p>Gives the options detected so far. Until the parse is {@linkplain #isComplete() complete}, these are the
+     * options read ahead of the next non-option argument, which for most command lines are all of them. Options
+     * appearing between non-option arguments are added as the non-option arguments are consumed, unless the parser
+     * is {@linkplain OptionParser#posixlyCorrect(boolean) posixly correct}.</p>
+     *
+     * <p>The non-option arguments are not kept, so the {@linkplain OptionSet#nonOptionArguments() non-option
+     * arguments} of the options are always empty.</p>
+     *
+     * @return the detected options
+     */
+    public OptionSet options() {
+        return detected;
+    }
+
+    /**
+     * <p>Gives the non-option arguments as a stream that reads the remaining arguments as it is consumed. Reaching
+     * the end of the stream completes the parse, checking for missing required options and unavailable options as
+     * {@link OptionParser#parse(String...)} does.</p>
+     *
+     * <p>The stream can be obtained only once.</p>
+     *
+     * @return the non-option arguments
+     * @throws IllegalStateException if the stream has already been obtained
+     * @throws OptionException from the stream's operations, if problems are detected in the arguments read
+     */
+    public Stream<String> nonOptionArguments() {
+        if ( streamed )
+            throw new IllegalStateException( "Non-option arguments have already been streamed" );
+        streamed = true;
+
+        Iterator<String> nonOptions = new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                return advance();
+            }
+
+            @Override
+            public String next() {
+                if ( !hasNext() )
+                    throw new NoSuchElementException();
+
+                return arguments.takeNonOption();
+            }
+        };
+
+        return StreamSupport.stream( spliteratorUnknownSize( nonOptions, ORDERED | NONNULL ), false );
+    }
+
+    /**
+     * Tells whether every argument has been read and the detected options checked.
+     *
+     * @return whether the parse is complete
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /*
+     * Reads arguments until a non-option argument is held, answering whether there is one. Once the arguments run
+     * out, completes the parse.
+     */
+    private boolean advance() {
+        if ( arguments.holdsNonOption() )
+            return true;
+        if ( complete )
+            return false;
+
+        while ( arguments.hasMore() ) {
+            parser.handleArgument( arguments, detected.detected(), schema );
+            if ( arguments.holdsNonOption() )
+                return true;
+        }
+
+        complete = true;
+        parser.finishParse( arguments, detected, schema );
+        return false;
+    }
+}
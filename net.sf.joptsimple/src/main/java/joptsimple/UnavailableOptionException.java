@@ -34,8 +34,8 @@ import java.util.List;
 class UnavailableOptionException extends OptionException {
     private static final long serialVersionUID = -1L;
 
-    UnavailableOptionException( List<? extends OptionSpec<?>> forbiddenOptions ) {
-        super( forbiddenOptions );
+    UnavailableOptionException( List<? extends OptionSpec<?>> forbiddenOptions, boolean writableStackTrace ) {
+        super( forbiddenOptions, null, writableStackTrace );
     }
 
     @Override
@@ -35,8 +35,8 @@ import static java.util.Collections.*;
 class UnrecognizedOptionException extends OptionException {
     private static final long serialVersionUID = -1L;
 
-    UnrecognizedOptionException( String option ) {
-        super( singletonList( option ) );
+    UnrecognizedOptionException( String option, boolean writableStackTrace ) {
+        super( singletonList( option ), writableStackTrace );
     }
 
     @Override
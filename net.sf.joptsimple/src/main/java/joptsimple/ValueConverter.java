@@ -25,6 +25,8 @@
 
 package joptsimple;
 
+import java.util.function.Consumer;
+
 /**
  * Instances of this interface are used to convert arguments of options into specific Java types.
  *
@@ -41,6 +43,31 @@ public interface ValueConverter<V> {
      */
     V convert( String value );
 
+    /**
+     * <p>Converts the given string value into a Java type if it can, handing the converted value, which may be
+     * {@code null}, to the given action. Answers whether the value could be converted, rather than raising an
+     * exception if it cannot.</p>
+     *
+     * <p>The default implementation calls {@link #convert(String)}, and answers {@code false} if that raises a
+     * {@link ValueConversionException}. Converters that can tell cheaply whether a value is convertible should
+     * override this method so that no exception is built.</p>
+     *
+     * @param value the string to convert
+     * @param action what to do with the converted value
+     * @return whether the value could be converted
+     */
+    default boolean tryConvert( String value, Consumer<? super V> action ) {
+        V converted;
+        try {
+            converted = convert( value );
+        } catch ( ValueConversionException ignored ) {
+            return false;
+        }
+
+        action.accept( converted );
+        return true;
+    }
+
     /**
      * <p>Reverts a value to a string representation.</p>
      *
@@ -0,0 +1,98 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import joptsimple.internal.BuiltinConverters;
+
+import static java.util.Objects.*;
+
+import static joptsimple.internal.Classes.*;
+import static joptsimple.internal.Reflection.*;
+
+/**
+ * <p>The converters that {@link ArgumentAcceptingOptionSpec#ofType(Class)} and
+ * {@link NonOptionArgumentSpec#ofType(Class)} use for a given type, for the options of one
+ * {@linkplain OptionParser#valueConverters() parser}.</p>
+ *
+ * <p>For a given type, a converter {@linkplain #register(Class, ValueConverter) registered} here is used first. Failing
+ * that, primitives and their wrappers, {@link String}, {@link java.math.BigInteger}, {@link java.math.BigDecimal},
+ * {@link java.util.UUID}, {@link java.io.File}, {@link java.nio.file.Path}, {@link java.net.URI}, and the
+ * {@link java.time.Duration}, {@link java.time.Instant}, {@link java.time.LocalDate}, {@link java.time.LocalTime}
+ * and {@link java.time.LocalDateTime} types have built-in converters that use no reflection. Any other type is
+ * converted by its {@code public static valueOf(String)} method or its {@code public} one-{@link String}
+ * constructor.</p>
+ *
+ * <p>Registration affects only the options of the parser that owns this registry, and only those given a type
+ * afterward. This class is safe for use by many threads.</p>
+ */
+public final class ValueConverters {
+    private final Map<Class<?>, ValueConverter<?>> registered = new ConcurrentHashMap<>();
+
+    ValueConverters() {
+    }
+
+    ValueConverters( ValueConverters original ) {
+        registered.putAll( original.registered );
+    }
+
+    /**
+     * <p>Registers a converter for the given type, replacing any converter registered for it before. Registering a
+     * converter for a primitive type registers it for the primitive's wrapper, and vice versa.</p>
+     *
+     * @param <V> the type to convert to
+     * @param type the type to convert to
+     * @param converter the converter to use for the type
+     * @throws NullPointerException if either argument is {@code null}
+     */
+    public <V> void register( Class<V> type, ValueConverter<V> converter ) {
+        registered.put( wrapperOf( requireNonNull( type ) ), requireNonNull( converter ) );
+    }
+
+    /**
+     * <p>Removes the converter registered for the given type, if any, so that options given the type afterward use
+     * the built-in or reflective converter for it. Options already given the type keep their converter.</p>
+     *
+     * @param type the type whose converter to remove
+     * @throws NullPointerException if the type is {@code null}
+     */
+    public void unregister( Class<?> type ) {
+        registered.remove( wrapperOf( requireNonNull( type ) ) );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    <V> ValueConverter<V> converterFor( Class<V> type ) {
+        ValueConverter<V> converter = (ValueConverter<V>) registered.get( wrapperOf( type ) );
+        return converter != null ? converter : defaultConverterFor( type );
+    }
+
+    static <V> ValueConverter<V> defaultConverterFor( Class<V> type ) {
+        ValueConverter<V> builtin = BuiltinConverters.converterFor( type );
+        return builtin != null ? builtin : findConverter( type );
+    }
+}
@@ -88,11 +88,25 @@ public class AbbreviationMap<V> implements OptionNameMap<V> {
      */
     @Override
     public V get( String key ) {
-        char[] chars = charsOf( key );
+        return get( key, 0, key.length() );
+    }
 
+    /**
+     * <p>Answers the value associated with the key made of the given range of characters, walking the map one
+     * character at a time without creating the key string.</p>
+     *
+     * @param key characters containing the key
+     * @param start index of the first character of the key
+     * @param end index after the last character of the key
+     * @return the value associated with the key; or {@code null} if there is no such value or the key is not a
+     * unique abbreviation of a key in the map
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    @Override
+    public V get( CharSequence key, int start, int end ) {
         AbbreviationMap<V> child = this;
-        for ( char each : chars ) {
-            child = child.children.get( each );
+        for ( int i = start; i < end; ++i ) {
+            child = child.children.get( key.charAt( i ) );
             if ( child == null )
                 return null;
         }
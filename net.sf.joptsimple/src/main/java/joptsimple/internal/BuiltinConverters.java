@@ -0,0 +1,395 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import joptsimple.ValueConverter;
+
+import static joptsimple.internal.Classes.*;
+
+/**
+ * Hand-written converters for primitive wrappers and common JDK value types, which need no reflection. They fail as
+ * the reflective converters for the same types would, raising {@link ReflectionException} with the value type's own
+ * exception as the cause.
+ */
+public final class BuiltinConverters {
+    private static final Map<Class<?>, ValueConverter<?>> CONVERTERS = new HashMap<>();
+
+    static {
+        add( Boolean.class, Boolean::valueOf );
+        add( Byte.class, Byte::valueOf,
+            value -> withinRange( value, Byte.MIN_VALUE, Byte.MAX_VALUE ) ? Byte.valueOf( value ) : null );
+        add( Short.class, Short::valueOf,
+            value -> withinRange( value, Short.MIN_VALUE, Short.MAX_VALUE ) ? Short.valueOf( value ) : null );
+        add( Integer.class, Integer::valueOf,
+            value -> withinRange( value, Integer.MIN_VALUE, Integer.MAX_VALUE ) ? Integer.valueOf( value ) : null );
+        add( Long.class, Long::valueOf,
+            value -> withinRange( value, Long.MIN_VALUE, Long.MAX_VALUE ) ? Long.valueOf( value ) : null );
+        add( Float.class, Float::valueOf, value -> isFloatingPoint( value ) ? Float.valueOf( value ) : null );
+        add( Double.class, Double::valueOf, value -> isFloatingPoint( value ) ? Double.valueOf( value ) : null );
+        add( String.class, Function.identity() );
+        add( BigInteger.class, BigInteger::new, value -> isInteger( value ) ? new BigInteger( value ) : null );
+        add( BigDecimal.class, BigDecimal::new, value -> isDecimal( value ) ? new BigDecimal( value ) : null );
+        add( UUID.class, UUID::fromString );
+        add( File.class, File::new );
+        add( Path.class, Paths::get );
+        add( URI.class, URI::create );
+        add( Duration.class, Duration::parse );
+        add( Instant.class, Instant::parse );
+        add( LocalDate.class, LocalDate::parse );
+        add( LocalTime.class, LocalTime::parse );
+        add( LocalDateTime.class, LocalDateTime::parse );
+    }
+
+    private BuiltinConverters() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gives the built-in converter for the given class, if there is one.
+     *
+     * @param <V> a constraint on the class
+     * @param clazz class to convert to; primitive classes are treated as their wrappers
+     * @return the converter for the class, or {@code null} if there is none
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <V> ValueConverter<V> converterFor( Class<V> clazz ) {
+        return (ValueConverter<V>) CONVERTERS.get( wrapperOf( clazz ) );
+    }
+
+    /**
+     * Converts the given value to an {@code int} as the built-in {@link Integer} converter would, without boxing.
+     *
+     * @param value the value to convert
+     * @return the converted value
+     * @throws ReflectionException if the value is not a decimal {@code int}
+     */
+    public static int intValueOf( String value ) {
+        try {
+            return Integer.parseInt( value );
+        } catch ( NumberFormatException ex ) {
+            throw new ReflectionException( ex );
+        }
+    }
+
+    /**
+     * Converts the given value to a {@code long} as the built-in {@link Long} converter would, without boxing.
+     *
+     * @param value the value to convert
+     * @return the converted value
+     * @throws ReflectionException if the value is not a decimal {@code long}
+     */
+    public static long longValueOf( String value ) {
+        try {
+            return Long.parseLong( value );
+        } catch ( NumberFormatException ex ) {
+            throw new ReflectionException( ex );
+        }
+    }
+
+    /**
+     * Converts the given value to a {@code double} as the built-in {@link Double} converter would, without boxing.
+     *
+     * @param value the value to convert
+     * @return the converted value
+     * @throws ReflectionException if the value is not a {@code double}
+     */
+    public static double doubleValueOf( String value ) {
+        try {
+            return Double.parseDouble( value );
+        } catch ( NumberFormatException ex ) {
+            throw new ReflectionException( ex );
+        }
+    }
+
+    /**
+     * Tells whether {@link #intValueOf(String)} would accept the given value, without raising an exception if not.
+     *
+     * @param value the value to check
+     * @return whether the value is a decimal {@code int}
+     */
+    public static boolean isIntValue( String value ) {
+        return withinRange( value, Integer.MIN_VALUE, Integer.MAX_VALUE );
+    }
+
+    /**
+     * Tells whether {@link #longValueOf(String)} would accept the given value, without raising an exception if not.
+     *
+     * @param value the value to check
+     * @return whether the value is a decimal {@code long}
+     */
+    public static boolean isLongValue( String value ) {
+        return withinRange( value, Long.MIN_VALUE, Long.MAX_VALUE );
+    }
+
+    /**
+     * Tells whether {@link #doubleValueOf(String)} would accept the given value, without raising an exception if not.
+     *
+     * @param value the value to check
+     * @return whether the value is a {@code double}
+     */
+    public static boolean isDoubleValue( String value ) {
+        return isFloatingPoint( value );
+    }
+
+    private static <V> void add( Class<V> clazz, Function<String, ? extends V> conversion ) {
+        add( clazz, conversion, null );
+    }
+
+    private static <V> void add( Class<V> clazz, Function<String, ? extends V> conversion,
+        Function<String, ? extends V> lenientConversion ) {
+
+        CONVERTERS.put( clazz, new FunctionValueConverter<>( clazz, conversion, lenientConversion ) );
+    }
+
+    /*
+     * Tells whether the given value is a decimal integer that Long.parseLong would accept, and that lies within the
+     * given range, without raising an exception if not.
+     */
+    private static boolean withinRange( String value, long min, long max ) {
+        int length = value.length();
+        if ( length == 0 )
+            return false;
+
+        int i = 0;
+        boolean negative = false;
+        long limit = -Long.MAX_VALUE;
+        char first = value.charAt( 0 );
+        if ( first < '0' ) {
+            if ( first == '-' ) {
+                negative = true;
+                limit = Long.MIN_VALUE;
+            } else if ( first != '+' )
+                return false;
+
+            if ( length == 1 )
+                return false;
+            ++i;
+        }
+
+        long multiplicationLimit = limit / 10;
+        long result = 0;
+        while ( i < length ) {
+            int digit = Character.digit( value.charAt( i++ ), 10 );
+            if ( digit < 0 || result < multiplicationLimit )
+                return false;
+
+            result *= 10;
+            if ( result < limit + digit )
+                return false;
+            result -= digit;
+        }
+
+        long parsed = negative ? result : -result;
+        return parsed >= min && parsed <= max;
+    }
+
+    /*
+     * Tells whether Double.valueOf would accept the given value, without raising an exception if not.
+     */
+    private static boolean isFloatingPoint( String value ) {
+        String trimmed = value.trim();
+        int length = trimmed.length();
+        int i = skipSign( trimmed, 0 );
+
+        if ( trimmed.startsWith( "NaN", i ) )
+            return i + 3 == length;
+        if ( trimmed.startsWith( "Infinity", i ) )
+            return i + 8 == length;
+
+        boolean hex = trimmed.startsWith( "0x", i ) || trimmed.startsWith( "0X", i );
+        if ( hex )
+            i += 2;
+
+        int integerEnd = skipDigits( trimmed, i, hex );
+        int fractionEnd = integerEnd;
+        if ( integerEnd < length && trimmed.charAt( integerEnd ) == '.' )
+            fractionEnd = skipDigits( trimmed, integerEnd + 1, hex );
+        if ( integerEnd == i && fractionEnd <= integerEnd + 1 )
+            return false;
+
+        i = fractionEnd;
+        if ( i < length && Character.toLowerCase( trimmed.charAt( i ) ) == ( hex ? 'p' : 'e' ) ) {
+            int exponentStart = skipSign( trimmed, i + 1 );
+            i = skipDigits( trimmed, exponentStart, false );
+            if ( i == exponentStart )
+                return false;
+        }
+        else if ( hex )
+            return false;
+
+        if ( i < length && "fFdD".indexOf( trimmed.charAt( i ) ) >= 0 )
+            ++i;
+
+        return i == length;
+    }
+
+    /*
+     * Tells whether new BigInteger(String) would accept the given value, without raising an exception if not.
+     */
+    private static boolean isInteger( String value ) {
+        int start = skipSign( value, 0 );
+        int end = start;
+        while ( end < value.length() && Character.digit( value.charAt( end ), 10 ) >= 0 )
+            ++end;
+
+        return end > start && end == value.length();
+    }
+
+    /*
+     * Tells whether new BigDecimal(String) would accept the given value, without raising an exception if not. Only
+     * values whose exponent has more than nine significant digits, which may not fit in an int, are tried by
+     * converting them.
+     */
+    private static boolean isDecimal( String value ) {
+        int length = value.length();
+        int i = skipSign( value, 0 );
+
+        int digits = 0;
+        boolean point = false;
+        for ( ; i < length; ++i ) {
+            char c = value.charAt( i );
+            if ( c == '.' && !point )
+                point = true;
+            else if ( Character.isDigit( c ) )
+                ++digits;
+            else
+                break;
+        }
+        if ( digits == 0 )
+            return false;
+
+        if ( i < length && ( value.charAt( i ) == 'e' || value.charAt( i ) == 'E' ) ) {
+            int exponentStart = skipSign( value, i + 1 );
+            int significantDigits = 0;
+            for ( i = exponentStart; i < length && Character.isDigit( value.charAt( i ) ); ++i ) {
+                if ( significantDigits > 0 || Character.digit( value.charAt( i ), 10 ) != 0 )
+                    ++significantDigits;
+            }
+            if ( i == exponentStart || i != length )
+                return false;
+            if ( significantDigits > 9 )
+                return convertsToBigDecimal( value );
+        }
+
+        return i == length;
+    }
+
+    private static boolean convertsToBigDecimal( String value ) {
+        try {
+            new BigDecimal( value );
+            return true;
+        } catch ( NumberFormatException ex ) {
+            return false;
+        }
+    }
+
+    private static int skipSign( String value, int start ) {
+        return start < value.length() && ( value.charAt( start ) == '+' || value.charAt( start ) == '-' )
+            ? start + 1
+            : start;
+    }
+
+    private static int skipDigits( String value, int start, boolean hex ) {
+        int end = start;
+        while ( end < value.length() && isDigit( value.charAt( end ), hex ) )
+            ++end;
+
+        return end;
+    }
+
+    private static boolean isDigit( char c, boolean hex ) {
+        return c >= '0' && c <= '9' || hex && ( c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F' );
+    }
+
+    /*
+     * A converter may be given a lenient conversion, which answers null rather than raising an exception for values
+     * it cannot convert. Without one, probing a value converts it and reports whether that raised an exception.
+     */
+    private static final class FunctionValueConverter<V> implements ValueConverter<V> {
+        private final Class<V> clazz;
+        private final Function<String, ? extends V> conversion;
+        private final Function<String, ? extends V> lenientConversion;
+
+        FunctionValueConverter( Class<V> clazz, Function<String, ? extends V> conversion,
+            Function<String, ? extends V> lenientConversion ) {
+
+            this.clazz = clazz;
+            this.conversion = conversion;
+            this.lenientConversion = lenientConversion;
+        }
+
+        @Override
+        public V convert( String value ) {
+            try {
+                return conversion.apply( value );
+            } catch ( RuntimeException ex ) {
+                throw new ReflectionException( ex );
+            }
+        }
+
+        @Override
+        public boolean tryConvert( String value, Consumer<? super V> action ) {
+            V converted;
+            try {
+                converted = lenientConversion == null ? conversion.apply( value ) : lenientConversion.apply( value );
+            } catch ( RuntimeException ex ) {
+                return false;
+            }
+            if ( converted == null )
+                return false;
+
+            action.accept( converted );
+            return true;
+        }
+
+        @Override
+        public Class<V> valueType() {
+            return clazz;
+        }
+
+        @Override
+        public String valuePattern() {
+            return null;
+        }
+    }
+}
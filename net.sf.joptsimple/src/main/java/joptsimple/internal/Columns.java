@@ -39,6 +39,27 @@ import static joptsimple.internal.Strings.*;
 class Columns {
     private static final int INDENT_WIDTH = 2;
 
+    private static final int ALPHANUMERIC = 1;
+    private static final int INERT = 2;
+    private static final int OPENING = 4;
+    private static final int CLOSING = 8;
+    private static final byte[] ASCII_CLASSES = new byte[ 128 ];
+
+    static {
+        for ( char c = 'a'; c <= 'z'; ++c )
+            ASCII_CLASSES[ c ] = ALPHANUMERIC;
+        for ( char c = 'A'; c <= 'Z'; ++c )
+            ASCII_CLASSES[ c ] = ALPHANUMERIC;
+        for ( char c = '0'; c <= '9'; ++c )
+            ASCII_CLASSES[ c ] = ALPHANUMERIC;
+        for ( char c : " #$&'*+/<=>@\\^_`|~".toCharArray() )
+            ASCII_CLASSES[ c ] = INERT;
+        for ( char c : "([{\"".toCharArray() )
+            ASCII_CLASSES[ c ] |= OPENING;
+        for ( char c : ".,:;!?)]}\"-%".toCharArray() )
+            ASCII_CLASSES[ c ] |= CLOSING;
+    }
+
     private final int optionWidth;
     private final int descriptionWidth;
 
@@ -65,15 +86,71 @@ class Columns {
     private List<String> piecesOf( String raw, int width ) {
         List<String> pieces = new ArrayList<>();
 
-        for ( String each : raw.trim().split( LINE_SEPARATOR ) )
-            pieces.addAll( piecesOfEmbeddedLine( each, width ) );
+        String text = raw.trim();
+        int start = 0;
+        for ( int end = text.indexOf( LINE_SEPARATOR ); end != -1; end = text.indexOf( LINE_SEPARATOR, start ) ) {
+            addPiecesOfEmbeddedLine( text, start, end, width, pieces );
+            start = end + LINE_SEPARATOR.length();
+        }
+        addPiecesOfEmbeddedLine( text, start, text.length(), width, pieces );
 
         return pieces;
     }
 
-    private List<String> piecesOfEmbeddedLine( String line, int width ) {
-        List<String> pieces = new ArrayList<>();
+    private void addPiecesOfEmbeddedLine( String text, int start, int end, int width, List<String> pieces ) {
+        StringBuilder nextPiece = breaksOnlyAfterSpaces( text, start, end )
+            ? wrapAtSpaces( text, start, end, width, pieces )
+            : wrapWithBreakIterator( text.substring( start, end ), width, pieces );
+
+        if ( nextPiece.length() > 0 )
+            pieces.add( nextPiece.toString() );
+    }
+
+    /*
+     * True if the line is ASCII text for which the Unicode line-break rules come down to a break opportunity
+     * after every run of spaces. Punctuation that can open or close a word qualifies only at the word's edge,
+     * next to a letter or digit; anything else, including all non-ASCII text, is left to BreakIterator.
+     */
+    private static boolean breaksOnlyAfterSpaces( String text, int start, int end ) {
+        for ( int i = start; i < end; ++i ) {
+            int kind = classOf( text.charAt( i ) );
+            if ( ( kind & ( ALPHANUMERIC | INERT ) ) != 0 )
+                continue;
+            if ( ( kind & CLOSING ) != 0
+                && i > start && ( i + 1 == end || text.charAt( i + 1 ) == ' ' )
+                && ( classOf( text.charAt( i - 1 ) ) & ( ALPHANUMERIC | CLOSING ) ) != 0 )
+                continue;
+            if ( ( kind & OPENING ) != 0
+                && i + 1 < end && ( i == start || text.charAt( i - 1 ) == ' ' )
+                && ( classOf( text.charAt( i + 1 ) ) & ( ALPHANUMERIC | OPENING ) ) != 0 )
+                continue;
+            return false;
+        }
+
+        return true;
+    }
+
+    private static int classOf( char c ) {
+        return c < ASCII_CLASSES.length ? ASCII_CLASSES[ c ] : 0;
+    }
+
+    private StringBuilder wrapAtSpaces( String text, int start, int end, int width, List<String> pieces ) {
+        StringBuilder nextPiece = new StringBuilder();
+
+        for ( int wordStart = start, wordEnd; wordStart < end; wordStart = wordEnd ) {
+            wordEnd = wordStart;
+            while ( wordEnd < end && text.charAt( wordEnd ) != ' ' )
+                ++wordEnd;
+            while ( wordEnd < end && text.charAt( wordEnd ) == ' ' )
+                ++wordEnd;
+
+            nextPiece = processNextWord( text, nextPiece, wordStart, wordEnd, width, pieces );
+        }
 
+        return nextPiece;
+    }
+
+    private StringBuilder wrapWithBreakIterator( String line, int width, List<String> pieces ) {
         BreakIterator words = BreakIterator.getLineInstance();
         words.setText( line );
 
@@ -83,24 +160,33 @@ class Columns {
         for ( int end = words.next(); end != DONE; start = end, end = words.next() )
             nextPiece = processNextWord( line, nextPiece, start, end, width, pieces );
 
-        if ( nextPiece.length() > 0 )
-            pieces.add( nextPiece.toString() );
-
-        return pieces;
+        return nextPiece;
     }
 
     private StringBuilder processNextWord( String source, StringBuilder nextPiece, int start, int end, int width,
                                            List<String> pieces ) {
         StringBuilder augmented = nextPiece;
 
-        String word = source.substring( start, end );
-        if ( augmented.length() + word.length() > width ) {
-            pieces.add( augmented.toString().replaceAll( "\\s+$", "" ) );
-            augmented = new StringBuilder( repeat( ' ', INDENT_WIDTH ) ).append( word );
+        if ( augmented.length() + end - start > width ) {
+            pieces.add( withoutTrailingWhitespace( augmented ) );
+            augmented = new StringBuilder( repeat( ' ', INDENT_WIDTH ) ).append( source, start, end );
         }
         else
-            augmented.append( word );
+            augmented.append( source, start, end );
 
         return augmented;
     }
+
+    /* Same characters as the regex class \s, so pieces end just as they did when trimmed with a pattern. */
+    private static String withoutTrailingWhitespace( CharSequence piece ) {
+        int end = piece.length();
+        while ( end > 0 && isRegexWhitespace( piece.charAt( end - 1 ) ) )
+            --end;
+
+        return piece.subSequence( 0, end ).toString();
+    }
+
+    private static boolean isRegexWhitespace( char c ) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
 }
@@ -0,0 +1,231 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>An {@code OptionNameMap} laid out for maps with very many keys. It matches keys exactly, as
+ * {@link SimpleOptionNameMap} does, or also by unique abbreviation, as {@link AbbreviationMap} does.</p>
+ *
+ * <p>Rather than one node per character, the keys are kept in a single sorted array, in front of which sits an
+ * open-addressed hash table for exact matches. A key that is not present exactly is looked up by binary search for
+ * the first key it is a prefix of; it is an unambiguous abbreviation if the key after that one does not share the
+ * prefix. Lookups create no objects.</p>
+ *
+ * <p>The arrays are rebuilt on the first lookup that needs them after the map changes, so this map suits the usual
+ * pattern of configuring all options before parsing. Until then, whole keys given as strings are looked up in a plain
+ * hash map, so that configuring options one at a time, each looking up options configured before it, does not
+ * rebuild the arrays each time.</p>
+ *
+ * @param <V> a constraint on the types of the values in the map
+ */
+public class CompactOptionNameMap<V> implements OptionNameMap<V> {
+    private final Map<String, V> mappings = new HashMap<>();
+    private final boolean allowAbbreviations;
+
+    private Index<V> index;
+
+    /**
+     * Creates an empty map.
+     *
+     * @param allowAbbreviations whether unique abbreviations of keys should be matched as well as whole keys
+     */
+    public CompactOptionNameMap( boolean allowAbbreviations ) {
+        this.allowAbbreviations = allowAbbreviations;
+    }
+
+    @Override
+    public boolean contains( String key ) {
+        return get( key ) != null;
+    }
+
+    @Override
+    public V get( String key ) {
+        if ( index == null ) {
+            V exact = mappings.get( key );
+            if ( exact != null || !allowAbbreviations )
+                return exact;
+        }
+
+        return get( key, 0, key.length() );
+    }
+
+    @Override
+    public V get( CharSequence key, int start, int end ) {
+        Index<V> current = index();
+
+        int exact = current.indexOfExactly( key, start, end );
+        if ( exact >= 0 )
+            return current.valueAt( exact );
+
+        return allowAbbreviations ? current.abbreviated( key, start, end ) : null;
+    }
+
+    @Override
+    public void put( String key, V newValue ) {
+        if ( newValue == null )
+            throw new NullPointerException();
+        if ( key.length() == 0 )
+            throw new IllegalArgumentException();
+
+        mappings.put( key, newValue );
+        index = null;
+    }
+
+    @Override
+    public void putAll( Iterable<String> keys, V newValue ) {
+        for ( String each : keys )
+            put( each, newValue );
+    }
+
+    @Override
+    public void remove( String key ) {
+        if ( key.length() == 0 )
+            throw new IllegalArgumentException();
+
+        if ( mappings.remove( key ) != null )
+            index = null;
+    }
+
+    @Override
+    public Map<String, V> toJavaUtilMap() {
+        return new TreeMap<>( mappings );
+    }
+
+    private Index<V> index() {
+        Index<V> current = index;
+        if ( current == null ) {
+            current = new Index<>( mappings );
+            index = current;
+        }
+
+        return current;
+    }
+
+    /*
+     * Immutable once built, so that a racing rebuild in a reader thread only costs the duplicated work.
+     */
+    private static final class Index<V> {
+        private final String[] keys;
+        private final Object[] values;
+        private final int[] slots;
+
+        Index( Map<String, V> mappings ) {
+            keys = mappings.keySet().toArray( new String[ 0 ] );
+            Arrays.sort( keys );
+
+            values = new Object[ keys.length ];
+            slots = new int[ tableSizeFor( keys.length ) ];
+            int mask = slots.length - 1;
+            for ( int i = 0; i < keys.length; ++i ) {
+                values[ i ] = mappings.get( keys[ i ] );
+
+                int slot = keys[ i ].hashCode() & mask;
+                while ( slots[ slot ] != 0 )
+                    slot = ( slot + 1 ) & mask;
+                slots[ slot ] = i + 1;
+            }
+        }
+
+        V abbreviated( CharSequence key, int start, int end ) {
+            int first = firstAtOrAfter( key, start, end );
+            if ( first == keys.length || !startsWith( keys[ first ], key, start, end ) )
+                return null;
+            if ( first + 1 < keys.length && startsWith( keys[ first + 1 ], key, start, end ) )
+                return null;
+
+            return valueAt( first );
+        }
+
+        int indexOfExactly( CharSequence key, int start, int end ) {
+            int hash = 0;
+            for ( int i = start; i < end; ++i )
+                hash = 31 * hash + key.charAt( i );
+
+            int mask = slots.length - 1;
+            for ( int slot = hash & mask; slots[ slot ] != 0; slot = ( slot + 1 ) & mask ) {
+                int candidate = slots[ slot ] - 1;
+                if ( keys[ candidate ].length() == end - start && startsWith( keys[ candidate ], key, start, end ) )
+                    return candidate;
+            }
+
+            return -1;
+        }
+
+        private int firstAtOrAfter( CharSequence key, int start, int end ) {
+            int low = 0;
+            int high = keys.length;
+            while ( low < high ) {
+                int middle = ( low + high ) >>> 1;
+                if ( compare( keys[ middle ], key, start, end ) < 0 )
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+
+            return low;
+        }
+
+        @SuppressWarnings( "unchecked" )
+        V valueAt( int position ) {
+            return (V) values[ position ];
+        }
+
+        private static int compare( String candidate, CharSequence key, int start, int end ) {
+            int length = Math.min( candidate.length(), end - start );
+            for ( int i = 0; i < length; ++i ) {
+                int difference = candidate.charAt( i ) - key.charAt( start + i );
+                if ( difference != 0 )
+                    return difference;
+            }
+
+            return candidate.length() - ( end - start );
+        }
+
+        private static boolean startsWith( String candidate, CharSequence key, int start, int end ) {
+            if ( candidate.length() < end - start )
+                return false;
+
+            for ( int i = start; i < end; ++i ) {
+                if ( candidate.charAt( i - start ) != key.charAt( i ) )
+                    return false;
+            }
+
+            return true;
+        }
+
+        private static int tableSizeFor( int keyCount ) {
+            int size = 2;
+            while ( size < keyCount * 2 )
+                size <<= 1;
+            return size;
+        }
+    }
+}
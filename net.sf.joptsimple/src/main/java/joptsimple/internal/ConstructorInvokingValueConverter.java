@@ -25,7 +25,8 @@
 
 package joptsimple.internal;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
+import java.util.function.Consumer;
 
 import joptsimple.ValueConverter;
 
@@ -36,20 +37,27 @@ import static joptsimple.internal.Reflection.*;
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
 class ConstructorInvokingValueConverter<V> implements ValueConverter<V> {
-    private final Constructor<V> ctor;
+    private final MethodHandle ctor;
+    private final Class<V> clazz;
 
-    ConstructorInvokingValueConverter( Constructor<V> ctor ) {
+    ConstructorInvokingValueConverter( MethodHandle ctor, Class<V> clazz ) {
         this.ctor = ctor;
+        this.clazz = clazz;
     }
 
     @Override
     public V convert( String value ) {
-        return instantiate( ctor, value );
+        return clazz.cast( invoke( ctor, value ) );
+    }
+
+    @Override
+    public boolean tryConvert( String value, Consumer<? super V> action ) {
+        return tryInvoke( ctor, value, result -> action.accept( clazz.cast( result ) ) );
     }
 
     @Override
     public Class<V> valueType() {
-        return ctor.getDeclaringClass();
+        return clazz;
     }
 
     @Override
@@ -25,7 +25,8 @@
 
 package joptsimple.internal;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.util.function.Consumer;
 
 import joptsimple.ValueConverter;
 
@@ -36,10 +37,10 @@ import static joptsimple.internal.Reflection.*;
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
 class MethodInvokingValueConverter<V> implements ValueConverter<V> {
-    private final Method method;
+    private final MethodHandle method;
     private final Class<V> clazz;
 
-    MethodInvokingValueConverter( Method method, Class<V> clazz ) {
+    MethodInvokingValueConverter( MethodHandle method, Class<V> clazz ) {
         this.method = method;
         this.clazz = clazz;
     }
@@ -49,6 +50,11 @@ class MethodInvokingValueConverter<V> implements ValueConverter<V> {
         return clazz.cast( invoke( method, value ) );
     }
 
+    @Override
+    public boolean tryConvert( String value, Consumer<? super V> action ) {
+        return tryInvoke( method, value, result -> action.accept( clazz.cast( result ) ) );
+    }
+
     @Override
     public Class<V> valueType() {
         return clazz;
@@ -37,6 +37,20 @@ public interface OptionNameMap<V> {
 
     V get( String key );
 
+    /**
+     * Answers the value associated with the given range of characters, as {@link #get(String)} would for the string
+     * made of those characters. Implementations that can look up a range in place should override this to avoid
+     * creating the string.
+     *
+     * @param key characters containing the key
+     * @param start index of the first character of the key
+     * @param end index after the last character of the key
+     * @return the associated value, or {@code null} if there is none
+     */
+    default V get( CharSequence key, int start, int end ) {
+        return get( key.subSequence( start, end ).toString() );
+    }
+
     void put( String key, V newValue );
 
     void putAll( Iterable<String> keys, V newValue );
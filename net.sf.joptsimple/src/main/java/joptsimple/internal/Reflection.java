@@ -25,10 +25,14 @@
 
 package joptsimple.internal;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.function.Consumer;
 
+import static java.lang.invoke.MethodType.*;
 import static java.lang.reflect.Modifier.*;
 
 import joptsimple.ValueConverter;
@@ -41,36 +45,49 @@ import static joptsimple.internal.Classes.*;
  * @author <a href="mailto:pholser@alumni.rice.edu">Paul Holser</a>
  */
 public final class Reflection {
+    private static final ClassValue<ValueConverter<?>> CONVERTERS = new ClassValue<ValueConverter<?>>() {
+        @Override
+        protected ValueConverter<?> computeValue( Class<?> type ) {
+            return converterFor( type );
+        }
+    };
+
     private Reflection() {
         throw new UnsupportedOperationException();
     }
 
     /**
-     * Finds an appropriate value converter for the given class.
+     * Finds an appropriate value converter for the given class. The converter is looked up once per class and
+     * shared thereafter.
      *
      * @param <V> a constraint on the class object to introspect
      * @param clazz class to introspect on
      * @return a converter method or constructor
      */
+    @SuppressWarnings( "unchecked" )
     public static <V> ValueConverter<V> findConverter( Class<V> clazz ) {
+        ValueConverter<V> converter = (ValueConverter<V>) CONVERTERS.get( clazz );
+        if ( converter == null )
+            throw new IllegalArgumentException( clazz + " is not a value type" );
+
+        return converter;
+    }
+
+    private static <V> ValueConverter<V> converterFor( Class<V> clazz ) {
         Class<V> maybeWrapper = wrapperOf( clazz );
 
         ValueConverter<V> valueOf = valueOfConverter( maybeWrapper );
         if ( valueOf != null )
             return valueOf;
 
-        ValueConverter<V> constructor = constructorConverter( maybeWrapper );
-        if ( constructor != null )
-            return constructor;
-
-        throw new IllegalArgumentException( clazz + " is not a value type" );
+        return constructorConverter( maybeWrapper );
     }
 
     private static <V> ValueConverter<V> valueOfConverter( Class<V> clazz ) {
         try {
             Method valueOf = clazz.getMethod( "valueOf", String.class );
             if ( meetsConverterRequirements( valueOf, clazz ) )
-                return new MethodInvokingValueConverter<>( valueOf, clazz );
+                return new MethodInvokingValueConverter<>( converterHandle( valueOf ), clazz );
 
             return null;
         } catch ( NoSuchMethodException ignored ) {
@@ -80,43 +97,77 @@ public final class Reflection {
 
     private static <V> ValueConverter<V> constructorConverter( Class<V> clazz ) {
         try {
-            return new ConstructorInvokingValueConverter<>( clazz.getConstructor( String.class ) );
+            Constructor<V> constructor = clazz.getConstructor( String.class );
+            return new ConstructorInvokingValueConverter<>( converterHandle( constructor ), clazz );
         } catch ( NoSuchMethodException ignored ) {
             return null;
         }
     }
 
+    /*
+     * Gives a handle of type (String)Object on the given method. Reflective invocation can reach public members of
+     * classes that a public lookup cannot, such as those in packages opened rather than exported; the handle on such
+     * a member invokes it reflectively, so that it meets the same access checks it always did.
+     */
+    private static MethodHandle converterHandle( Method method ) {
+        try {
+            return asConverter( MethodHandles.publicLookup().unreflect( method ) );
+        } catch ( IllegalAccessException ex ) {
+            return ReflectiveInvokers.converterHandle( method );
+        }
+    }
+
+    private static MethodHandle converterHandle( Constructor<?> constructor ) {
+        try {
+            return asConverter( MethodHandles.publicLookup().unreflectConstructor( constructor ) );
+        } catch ( IllegalAccessException ex ) {
+            return ReflectiveInvokers.converterHandle( constructor );
+        }
+    }
+
+    private static MethodHandle asConverter( MethodHandle handle ) {
+        return handle.asType( methodType( Object.class, String.class ) );
+    }
+
     /**
-     * Invokes the given constructor with the given arguments.
+     * Invokes the given converter handle, of type {@code (String)Object}, on the given argument.
      *
-     * @param <T> constraint on the type of the objects yielded by the constructor
-     * @param constructor constructor to invoke
-     * @param args arguments to hand to the constructor
-     * @return the result of invoking the constructor
-     * @throws ReflectionException in lieu of the gaggle of reflection-related exceptions
+     * @param converter handle to invoke
+     * @param argument argument to hand to the converter
+     * @return the result of invoking the converter
+     * @throws ReflectionException wrapping any exception the converter throws; errors propagate unchanged
      */
-    public static <T> T instantiate( Constructor<T> constructor, Object... args ) {
+    public static Object invoke( MethodHandle converter, String argument ) {
         try {
-            return constructor.newInstance( args );
-        } catch ( Exception ex ) {
-            throw reflectionException( ex );
+            return (Object) converter.invokeExact( argument );
+        } catch ( Error ex ) {
+            throw ex;
+        } catch ( Throwable ex ) {
+            throw new ReflectionException( ex );
         }
     }
 
     /**
-     * Invokes the given static method with the given arguments.
+     * Invokes the given converter handle, of type {@code (String)Object}, on the given argument, handing the result to
+     * the given action rather than raising an exception if the converter throws one. Errors propagate unchanged.
      *
-     * @param method method to invoke
-     * @param args arguments to hand to the method
-     * @return the result of invoking the method
-     * @throws ReflectionException in lieu of the gaggle of reflection-related exceptions
+     * @param converter handle to invoke
+     * @param argument argument to hand to the converter
+     * @param action what to do with the result of invoking the converter
+     * @return whether the converter returned normally
      */
-    public static Object invoke( Method method, Object... args ) {
+    public static boolean tryInvoke( MethodHandle converter, String argument, Consumer<Object> action ) {
+        Object result;
         try {
-            return method.invoke( null, args );
-        } catch ( Exception ex ) {
-            throw reflectionException( ex );
+            result = (Object) converter.invokeExact( argument );
+        } catch ( Error ex ) {
+            throw ex;
+        } catch ( Throwable ignored ) {
+            return false;
         }
+
+        action.accept( result );
+        return true;
     }
 
     @SuppressWarnings( "unchecked" )
@@ -129,14 +180,48 @@ public final class Reflection {
         return isPublic( modifiers ) && isStatic( modifiers ) && expectedReturnType.equals( method.getReturnType() );
     }
 
-    private static RuntimeException reflectionException( Exception ex ) {
-        if ( ex instanceof IllegalArgumentException )
-            return new ReflectionException( ex );
-        if ( ex instanceof InvocationTargetException )
-            return new ReflectionException( ex.getCause() );
-        if ( ex instanceof RuntimeException )
-            return (RuntimeException) ex;
+    /*
+     * Handles on Method.invoke and Constructor.newInstance, looked up only when some converter needs them.
+     */
+    private static final class ReflectiveInvokers {
+        private static final MethodHandle INVOKE;
+        private static final MethodHandle NEW_INSTANCE;
+        private static final MethodHandle RETHROW_TARGET_EXCEPTION;
+
+        static {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            try {
+                INVOKE = lookup.findVirtual(
+                    Method.class, "invoke", methodType( Object.class, Object.class, Object[].class ) );
+                NEW_INSTANCE = lookup.findVirtual(
+                    Constructor.class, "newInstance", methodType( Object.class, Object[].class ) );
+                RETHROW_TARGET_EXCEPTION = lookup.findStatic(
+                    ReflectiveInvokers.class,
+                    "rethrowTargetException",
+                    methodType( Object.class, InvocationTargetException.class ) );
+            } catch ( ReflectiveOperationException ex ) {
+                throw new ExceptionInInitializerError( ex );
+            }
+        }
+
+        static MethodHandle converterHandle( Method method ) {
+            return reflective( MethodHandles.insertArguments( INVOKE.bindTo( method ), 0, (Object) null ) );
+        }
+
+        static MethodHandle converterHandle( Constructor<?> constructor ) {
+            return reflective( NEW_INSTANCE.bindTo( constructor ) );
+        }
 
-        return new ReflectionException( ex );
+        private static MethodHandle reflective( MethodHandle invoker ) {
+            MethodHandle converter = asConverter( invoker.asCollector( Object[].class, 1 ) );
+            return MethodHandles.catchException(
+                converter,
+                InvocationTargetException.class,
+                MethodHandles.dropArguments( RETHROW_TARGET_EXCEPTION, 1, String.class ) );
+        }
+
+        private static Object rethrowTargetException( InvocationTargetException ex ) throws Throwable {
+            throw ex.getCause();
+        }
     }
 }
@@ -25,6 +25,8 @@
 
 package joptsimple.internal;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -77,17 +79,39 @@ public class Rows {
             add( each );
     }
 
+    public boolean isEmpty() {
+        return rows.isEmpty();
+    }
+
     public String render() {
         StringBuilder buffer = new StringBuilder();
 
-        for ( Row each : rows ) {
-            pad( buffer, each.option, optionWidth() ).append( repeat( ' ', columnSeparatorWidth ) );
-            pad( buffer, each.description, descriptionWidth() ).append( LINE_SEPARATOR );
+        try {
+            render( buffer );
+        } catch ( IOException ex ) {
+            throw new UncheckedIOException( ex );
         }
 
         return buffer.toString();
     }
 
+    /**
+     * Writes the rows to the given sink one at a time, without gathering them into a single string.
+     *
+     * @param sink where to write the rows
+     * @throws IOException if the sink cannot be written to
+     */
+    public void render( Appendable sink ) throws IOException {
+        int optionWidth = optionWidth();
+        int descriptionWidth = descriptionWidth();
+
+        for ( Row each : rows ) {
+            pad( sink, each.option, optionWidth );
+            pad( sink, "", columnSeparatorWidth );
+            pad( sink, each.description, descriptionWidth ).append( LINE_SEPARATOR );
+        }
+    }
+
     private int optionWidth() {
         return min( ( overallWidth - columnSeparatorWidth ) / 2, widthOfWidestOption );
     }
@@ -96,8 +120,11 @@ public class Rows {
         return min( overallWidth - optionWidth() - columnSeparatorWidth, widthOfWidestDescription );
     }
 
-    private StringBuilder pad( StringBuilder buffer, String s, int length ) {
-        buffer.append( s ).append( repeat( ' ', length - s.length() ) );
-        return buffer;
+    private static Appendable pad( Appendable sink, String s, int length ) throws IOException {
+        sink.append( s );
+        for ( int i = s.length(); i < length; ++i )
+            sink.append( ' ' );
+
+        return sink;
     }
 }
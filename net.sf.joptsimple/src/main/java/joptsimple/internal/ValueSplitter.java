@@ -0,0 +1,199 @@
+/*
+ The MIT License
+
+ Copyright (c) 2004-2021 Paul R. Holser, Jr.
+
+ Permission is hereby granted, free of charge, to any person obtaining
+ a copy of this software and associated documentation files (the
+ "Software"), to deal in the Software without restriction, including
+ without limitation the rights to use, copy, modify, merge, publish,
+ distribute, sublicense, and/or sell copies of the Software, and to
+ permit persons to whom the Software is furnished to do so, subject to
+ the following conditions:
+
+ The above copyright notice and this permission notice shall be
+ included in all copies or substantial portions of the Software.
+
+ THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+*/
+
+package joptsimple.internal;
+
+import java.util.function.Consumer;
+
+/**
+ * <p>Splits option arguments into the values they hold, at a separator fixed when the splitter is made.</p>
+ *
+ * <p>Empty values, such as those between consecutive separators, are skipped. Values go to the caller as they are
+ * found, so splitting creates no tokenizer or list per argument.</p>
+ */
+public abstract class ValueSplitter {
+    private static final ValueSplitter NONE = new ValueSplitter() {
+        @Override
+        public int split( String argument, Consumer<String> values ) {
+            if ( argument.isEmpty() )
+                return 0;
+
+            values.accept( argument );
+            return 1;
+        }
+    };
+
+    ValueSplitter() {
+        // no subclasses outside this package
+    }
+
+    /**
+     * @return a splitter that gives each non-empty argument whole
+     */
+    public static ValueSplitter none() {
+        return NONE;
+    }
+
+    /**
+     * @param separator the separator between values; if empty, arguments are not split
+     * @return a splitter that splits at each occurrence of the whole separator
+     */
+    public static ValueSplitter on( String separator ) {
+        switch ( separator.length() ) {
+            case 0:
+                return NONE;
+            case 1:
+                return new OnCharacter( separator.charAt( 0 ) );
+            default:
+                return new OnString( separator );
+        }
+    }
+
+    /**
+     * @param separator the separator between values
+     * @param escape a character that, put before the separator or before itself, makes that text part of a value
+     * @return a splitter that splits at each occurrence of the whole separator that is not escaped
+     * @throws IllegalArgumentException if the separator is empty or contains the escape character
+     */
+    public static ValueSplitter on( String separator, char escape ) {
+        if ( separator.isEmpty() || separator.indexOf( escape ) != -1 )
+            throw new IllegalArgumentException( "escape must not be part of a non-empty separator" );
+
+        return new Escaped( separator, escape );
+    }
+
+    /**
+     * Gives each non-empty value of the given argument to the given consumer, in order.
+     *
+     * @param argument an option argument
+     * @param values receives the values
+     * @return how many values were found; zero if the argument is empty or holds only separators
+     */
+    public abstract int split( String argument, Consumer<String> values );
+
+    private static final class OnCharacter extends ValueSplitter {
+        private final char separator;
+
+        OnCharacter( char separator ) {
+            this.separator = separator;
+        }
+
+        @Override
+        public int split( String argument, Consumer<String> values ) {
+            int count = 0;
+            int length = argument.length();
+
+            for ( int start = 0; start < length; ) {
+                int end = argument.indexOf( separator, start );
+                if ( end == -1 )
+                    end = length;
+
+                if ( end > start ) {
+                    values.accept( argument.substring( start, end ) );
+                    ++count;
+                }
+
+                start = end + 1;
+            }
+
+            return count;
+        }
+    }
+
+    private static final class OnString extends ValueSplitter {
+        private final String separator;
+
+        OnString( String separator ) {
+            this.separator = separator;
+        }
+
+        @Override
+        public int split( String argument, Consumer<String> values ) {
+            int count = 0;
+            int length = argument.length();
+
+            for ( int start = 0; start < length; ) {
+                int end = argument.indexOf( separator, start );
+                if ( end == -1 )
+                    end = length;
+
+                if ( end > start ) {
+                    values.accept( argument.substring( start, end ) );
+                    ++count;
+                }
+
+                start = end + separator.length();
+            }
+
+            return count;
+        }
+    }
+
+    private static final class Escaped extends ValueSplitter {
+        private final String separator;
+        private final char escape;
+
+        Escaped( String separator, char escape ) {
+            this.separator = separator;
+            this.escape = escape;
+        }
+
+        @Override
+        public int split( String argument, Consumer<String> values ) {
+            int count = 0;
+            int length = argument.length();
+            StringBuilder value = new StringBuilder();
+
+            for ( int i = 0; i < length; ) {
+                char next = argument.charAt( i );
+
+                if ( next == escape && argument.startsWith( separator, i + 1 ) ) {
+                    value.append( separator );
+                    i += 1 + separator.length();
+                } else if ( next == escape && i + 1 < length && argument.charAt( i + 1 ) == escape ) {
+                    value.append( escape );
+                    i += 2;
+                } else if ( argument.startsWith( separator, i ) ) {
+                    count += flush( value, values );
+                    i += separator.length();
+                } else {
+                    value.append( next );
+                    ++i;
+                }
+            }
+
+            return count + flush( value, values );
+        }
+
+        private static int flush( StringBuilder value, Consumer<String> values ) {
+            if ( value.length() == 0 )
+                return 0;
+
+            values.accept( value.toString() );
+            value.setLength( 0 );
+            return 1;
+        }
+    }
+}